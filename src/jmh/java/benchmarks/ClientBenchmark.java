@@ -0,0 +1,75 @@
+package benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.dwp.model.InventoryResponse;
+import org.dwp.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.RestAssuredClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the REST client itself: building request specifications and binding canned
+ * response bodies. No request leaves the JVM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientBenchmark {
+    private static final String PRODUCT_JSON = "{\"id\":\"64f1c0ffee0000000000abcd\",\"name\":\"Test Product 1700000000000\","
+            + "\"description\":\"Test product description\",\"price\":19.99,\"quantity\":100}";
+    private static final String INVENTORY_RESPONSE_JSON = "{\"message\":\"Purchase successful\",\"success\":true,\"product\":"
+            + PRODUCT_JSON + "}";
+
+    private Response productResponse;
+    private Response inventoryResponse;
+
+    @Setup
+    public void setUp() {
+        productResponse = cannedResponse(PRODUCT_JSON);
+        inventoryResponse = cannedResponse(INVENTORY_RESPONSE_JSON);
+        RestAssuredClient.initialize();
+    }
+
+    /**
+     * Per-request cost once the shared specification is built; building it is measured by
+     * {@code utils.RequestSpecBenchmark}.
+     */
+    @Benchmark
+    public RequestSpecification requestSpecReused() {
+        return RestAssuredClient.getUnauthenticatedRequestSpec();
+    }
+
+    @Benchmark
+    public Product responseAsProduct() {
+        return productResponse.as(Product.class);
+    }
+
+    @Benchmark
+    public InventoryResponse responseAsInventoryResponse() {
+        return inventoryResponse.as(InventoryResponse.class);
+    }
+
+    private static Response cannedResponse(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+}
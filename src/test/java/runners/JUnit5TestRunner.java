@@ -10,12 +10,14 @@ import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
 
 /**
  * JUnit 5 test runner for Cucumber tests.
+ * <p>
+ * Scenarios run serially by default; activate the {@code parallel} Maven profile to run them concurrently.
  */
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "stepDefinitions")
-@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports.html, json:target/cucumber-reports/cucumber-junit5.json")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports.html, json:target/cucumber-reports/cucumber-junit5.json, utils.CurrentStepPlugin")
 public class JUnit5TestRunner {
     // This class is intentionally empty. It's used only as a holder for annotations.
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package runners;
+
+import io.cucumber.core.eventbus.EventBus;
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.filter.Filters;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.core.options.CucumberPropertiesParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.plugin.PluginFactory;
+import io.cucumber.core.plugin.Plugins;
+import io.cucumber.core.runtime.BackendServiceLoader;
+import io.cucumber.core.runtime.CucumberExecutionContext;
+import io.cucumber.core.runtime.ExitStatus;
+import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.core.runtime.ObjectFactoryServiceLoader;
+import io.cucumber.core.runtime.SynchronizedEventBus;
+import io.cucumber.core.runtime.ThreadLocalObjectFactorySupplier;
+import io.cucumber.core.runtime.ThreadLocalRunnerSupplier;
+import io.cucumber.core.runtime.TimeServiceEventBus;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import utils.LatencyHistogram;
+import utils.LoadStatisticsPlugin;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Replays tagged Cucumber scenarios as load, reusing the functional step definitions.
+ * <p>
+ * All scenarios run inside one Cucumber runtime, so the glue is loaded and the {@code @BeforeAll} and
+ * {@code @AfterAll} hooks run once per load run. Each of the {@code load.threads} workers first runs one
+ * scenario as a warm-up, which loads its glue and provisions the shared fixtures. The workers then take
+ * the next scenario as soon as their previous one finishes, until {@code load.duration} seconds have
+ * passed or, without a duration, every scenario has run {@code load.iterations} times. Throughput and
+ * step latency percentiles cover only these scenarios, not the warm-up or the cleanup after the run.
+ * The run stops at the first undefined, ambiguous or pending scenario, and fails if any scenario failed.
+ * <pre>
+ * mvn -Pload test-compile exec:java -Dload.tags=@InventoryOperations -Dload.threads=8 -Dload.duration=60
+ * </pre>
+ */
+public class LoadRunner {
+    private static final Set<Status> BROKEN_STATUSES = EnumSet.of(Status.UNDEFINED, Status.AMBIGUOUS, Status.PENDING);
+
+    public static void main(String[] args) {
+        String tags = System.getProperty("load.tags", "@InventoryOperations");
+        int threads = Integer.parseInt(System.getProperty("load.threads", "4"));
+        long durationMillis = Long.parseLong(System.getProperty("load.duration", "0")) * 1000;
+        int iterations = Integer.parseInt(System.getProperty("load.iterations", "1"));
+
+        // Replace the functional report plugins from cucumber.properties with the statistics plugin
+        System.setProperty("cucumber.plugin", LoadStatisticsPlugin.class.getName());
+        System.setProperty("cucumber.publish.enabled", "false");
+        System.setProperty("cucumber.publish.quiet", "true");
+        System.setProperty("cucumber.filter.tags", tags);
+        System.setProperty("cucumber.glue", "stepDefinitions");
+        // Load latencies reflect contention, so keep them out of the functional history
+        System.setProperty("perf.history.enabled", "false");
+
+        RuntimeOptions options = runtimeOptions("classpath:features");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Supplier<ClassLoader> classLoaderSupplier = () -> classLoader;
+
+        // The same wiring as a multi-threaded io.cucumber.core.runtime.Runtime, minus its fixed list of pickles
+        EventBus bus = SynchronizedEventBus.synchronize(new TimeServiceEventBus(Clock.systemUTC(), UUID::randomUUID));
+        ThreadLocalObjectFactorySupplier objectFactorySupplier = new ThreadLocalObjectFactorySupplier(
+                new ObjectFactoryServiceLoader(classLoaderSupplier, options));
+        Plugins plugins = new Plugins(new PluginFactory(), options);
+        ExitStatus exitStatus = new ExitStatus(options);
+        plugins.addPlugin(exitStatus);
+        plugins.setSerialEventBusOnEventListenerPlugins(bus);
+        CucumberExecutionContext context = new CucumberExecutionContext(bus, exitStatus, new ThreadLocalRunnerSupplier(
+                options, bus, new BackendServiceLoader(classLoaderSupplier, objectFactorySupplier), objectFactorySupplier));
+
+        List<Feature> features = new FeaturePathFeatureSupplier(classLoaderSupplier, options,
+                new FeatureParser(bus::generateId)).get();
+        Filters filters = new Filters(options);
+        List<Pickle> pickles = features.stream()
+                .flatMap(feature -> feature.getPickles().stream())
+                .filter(filters)
+                .collect(Collectors.toList());
+        if (pickles.isEmpty()) {
+            throw new IllegalStateException("No scenarios match " + tags);
+        }
+
+        AtomicReference<String> broken = new AtomicReference<>();
+        bus.registerHandlerFor(TestCaseFinished.class, event -> {
+            Status status = event.getResult().getStatus();
+            if (BROKEN_STATUSES.contains(status)) {
+                broken.compareAndSet(null, String.format("'%s' is %s", event.getTestCase().getName(), status));
+            }
+        });
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            context.runFeatures(() -> {
+                features.forEach(context::beforeFeature);
+
+                List<Callable<Void>> warmUp = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Pickle pickle = pickles.get(i % pickles.size());
+                    warmUp.add(() -> {
+                        context.runTestCase(runner -> runner.runPickle(pickle));
+                        return null;
+                    });
+                }
+                awaitAll(workers.invokeAll(warmUp));
+                LoadStatisticsPlugin.reset();
+
+                long deadline = System.currentTimeMillis() + durationMillis;
+                long total = (long) iterations * pickles.size();
+                AtomicLong next = new AtomicLong();
+                List<Callable<Void>> load = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    load.add(() -> {
+                        while (broken.get() == null) {
+                            long index = next.getAndIncrement();
+                            if (durationMillis > 0 ? System.currentTimeMillis() >= deadline : index >= total) {
+                                break;
+                            }
+                            Pickle pickle = pickles.get((int) (index % pickles.size()));
+                            context.runTestCase(runner -> runner.runPickle(pickle));
+                        }
+                        return null;
+                    });
+                }
+                if (broken.get() == null) {
+                    awaitAll(workers.invokeAll(load));
+                }
+            });
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (broken.get() != null) {
+            throw new IllegalStateException("Load run aborted: " + broken.get());
+        }
+        printReport(tags, threads);
+        long failed = LoadStatisticsPlugin.getFailedScenarios();
+        if (failed > 0) {
+            throw new IllegalStateException(String.format("%d of %d scenarios failed under load",
+                    failed, LoadStatisticsPlugin.getScenarioHistogram().getCount()));
+        }
+    }
+
+    /**
+     * Builds the runtime options the same way as {@code io.cucumber.core.cli.Main}.
+     */
+    private static RuntimeOptions runtimeOptions(String... argv) {
+        RuntimeOptions propertiesFileOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromPropertiesFile())
+                .build();
+        RuntimeOptions environmentOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromEnvironment())
+                .build(propertiesFileOptions);
+        RuntimeOptions systemOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromSystemProperties())
+                .build(environmentOptions);
+        return new CommandlineOptionsParser(System.out)
+                .parse(argv)
+                .addDefaultGlueIfAbsent()
+                .addDefaultFeaturePathIfAbsent()
+                .addDefaultSummaryPrinterIfNotDisabled()
+                .enablePublishPlugin()
+                .build(systemOptions);
+    }
+
+    /**
+     * Waits for the workers, rethrowing the first error a worker ran into outside a scenario.
+     */
+    private static void awaitAll(List<Future<Void>> futures) throws Throwable {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static void printReport(String tags, int threads) {
+        LatencyHistogram scenarios = LoadStatisticsPlugin.getScenarioHistogram();
+        double elapsedSeconds = Math.max(LoadStatisticsPlugin.getElapsedSeconds(), 0.001);
+        System.out.println("\n\n==================================================");
+        System.out.println(String.format("Load run %s: %d scenarios on %d threads in %.1f s",
+                tags, scenarios.getCount(), threads, elapsedSeconds));
+        System.out.println(String.format("Scenarios: %d (%d failed), %.2f/s",
+                scenarios.getCount(), LoadStatisticsPlugin.getFailedScenarios(), scenarios.getCount() / elapsedSeconds));
+        System.out.println(String.format("%-70s %8s %9s %9s %9s %9s %9s",
+                "Step", "Count", "Per sec", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : LoadStatisticsPlugin.getStepHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            System.out.println(String.format("%-70s %8d %9.2f %9.1f %9.1f %9.1f %9.1f",
+                    entry.getKey(), histogram.getCount(), histogram.getCount() / elapsedSeconds,
+                    histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                    histogram.getPercentileMillis(99), histogram.getMaxMillis()));
+        }
+        System.out.println("==================================================\n");
+    }
+}
@@ -3,8 +3,7 @@ import org.junit.AfterClass;
 import org.junit.runner.RunWith;
 import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
-import utils.CucumberReportGenerator;
-import utils.TestSummaryReportGenerator;
+import utils.ReportPipeline;
 
 @RunWith(Cucumber.class)
 @CucumberOptions(
@@ -13,7 +12,8 @@ import utils.TestSummaryReportGenerator;
         plugin = {
             "pretty", 
             "html:target/cucumber-reports.html",
-            "json:target/cucumber-reports/cucumber.json"
+            "json:target/cucumber-reports/cucumber.json",
+            "utils.CurrentStepPlugin"
         },
         publish = true
         // Tags will be provided via command line or default to @test
@@ -22,17 +22,11 @@ public class TestRunner {
     
     @AfterClass
     public static void generateDetailedReport() {
-        // Generate detailed Cucumber reports
-        CucumberReportGenerator.generateDetailedReport(
-            "target/cucumber-reports", 
-            "target/cucumber-detailed-reports", 
-            "Cucumber Test Results"
-        );
-        
-        // Generate summary report with statistics
-        TestSummaryReportGenerator.generateSummaryReport(
+        // Generate detailed Cucumber reports and the summary report with statistics from the same inputs
+        ReportPipeline.generateReports(
             "target/cucumber-reports",
             "target/cucumber-detailed-reports",
+            "Cucumber Test Results",
             "target/test-summary.html"
         );
         
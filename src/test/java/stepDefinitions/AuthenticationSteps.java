@@ -7,6 +7,7 @@ import io.restassured.response.Response;
 import org.dwp.model.AuthResponse;
 import org.junit.jupiter.api.Assertions;
 import utils.ConfigManager;
+import utils.CredentialPool;
 import utils.RestAssuredClient;
 import utils.TestContext;
 
@@ -26,10 +27,9 @@ public class AuthenticationSteps extends BaseSteps {
 
     @Given("I am authenticated with valid credentials")
     public void iAmAuthenticatedWithValidCredentials() {
-        String username = ConfigManager.getUsername();
-        String password = ConfigManager.getPassword();
+        CredentialPool.Credential credential = CredentialPool.lease();
         
-        AuthResponse authResponse = RestAssuredClient.authenticate(username, password);
+        AuthResponse authResponse = RestAssuredClient.authenticate(credential.getUsername(), credential.getPassword());
         
         Assertions.assertNotNull(authResponse.getToken(), "Authentication token should not be null");
         Assertions.assertTrue(RestAssuredClient.isAuthenticated(), "Client should be authenticated");
@@ -37,7 +37,8 @@ public class AuthenticationSteps extends BaseSteps {
 
     @Given("I am authenticated with username {string} and password {string}")
     public void iAmAuthenticatedWithUsernameAndPassword(String username, String password) {
-        AuthResponse authResponse = RestAssuredClient.authenticate(username, password);
+        CredentialPool.Credential credential = CredentialPool.resolve(username, password);
+        AuthResponse authResponse = RestAssuredClient.authenticate(credential.getUsername(), credential.getPassword());
         
         Assertions.assertNotNull(authResponse.getToken(), "Authentication token should not be null");
         Assertions.assertTrue(RestAssuredClient.isAuthenticated(), "Client should be authenticated");
@@ -59,7 +60,7 @@ public class AuthenticationSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 200) {
-            AuthResponse authResponse = response.as(AuthResponse.class);
+            AuthResponse authResponse = testContext.getLastResponseAs(AuthResponse.class);
             if (authResponse.getToken() != null) {
                 testContext.setContext("authToken", authResponse.getToken());
             }
@@ -75,8 +76,7 @@ public class AuthenticationSteps extends BaseSteps {
 
     @Then("the authentication response should contain a valid token")
     public void theAuthenticationResponseShouldContainAValidToken() {
-        Response response = testContext.getLastResponse();
-        AuthResponse authResponse = response.as(AuthResponse.class);
+        AuthResponse authResponse = testContext.getLastResponseAs(AuthResponse.class);
         
         Assertions.assertNotNull(authResponse.getToken(), "Authentication token should not be null");
         Assertions.assertFalse(authResponse.getToken().isEmpty(), "Authentication token should not be empty");
@@ -84,16 +84,14 @@ public class AuthenticationSteps extends BaseSteps {
 
     @Then("the authentication response should contain user details")
     public void theAuthenticationResponseShouldContainUserDetails() {
-        Response response = testContext.getLastResponse();
-        AuthResponse authResponse = response.as(AuthResponse.class);
+        AuthResponse authResponse = testContext.getLastResponseAs(AuthResponse.class);
         
         Assertions.assertNotNull(authResponse.getUserId(), "User ID should not be null");
     }
 
     @Then("the authentication response should contain an error message")
     public void theAuthenticationResponseShouldContainAnErrorMessage() {
-        Response response = testContext.getLastResponse();
-        String responseBody = response.getBody().asString();
+        String responseBody = testContext.getLastResponseBody();
         
         Assertions.assertTrue(responseBody.contains("error") || responseBody.contains("message"), 
                 "Response should contain error information");
@@ -1,12 +1,19 @@
 package stepDefinitions;
 
-import io.cucumber.java.Before;
-import utils.ConfigManager;
+import io.restassured.response.Response;
+import org.dwp.model.Product;
+import org.junit.jupiter.api.Assertions;
+import utils.ConsistencyVerifier;
 import utils.RestAssuredClient;
 import utils.TestContext;
 
+import java.util.function.Predicate;
+
 /**
  * Base class for step definitions with common functionality.
+ * <p>
+ * Must not declare hooks: Cucumber forbids extending glue classes that define them, and the
+ * REST client is initialized once per base URL by {@link Hooks}.
  */
 public class BaseSteps {
     protected final TestContext testContext;
@@ -15,9 +22,23 @@ public class BaseSteps {
         this.testContext = testContext;
     }
 
-    @Before
-    public void setup() {
-        // ConfigManager is initialized statically, no need to call initialize()
-        RestAssuredClient.initialize();
+    /**
+     * Reads the current product until it reaches the expected state or the verification deadline passes.
+     *
+     * @param check    the name of the check, used for its convergence metrics
+     * @param expected the expected state of the product
+     * @return the last product read
+     */
+    protected Product awaitCurrentProduct(String check, Predicate<Product> expected) {
+        String productId = testContext.getCurrentProductId();
+        Product product = ConsistencyVerifier.await(check, () -> {
+            Response response = RestAssuredClient.getAuthenticatedRequestSpec()
+                    .when()
+                    .get("/products/" + productId);
+            return response.getStatusCode() == 200 ? response.as(Product.class) : null;
+        }, candidate -> candidate != null && expected.test(candidate));
+        
+        Assertions.assertNotNull(product, "Product " + productId + " should be available");
+        return product;
     }
-}
\ No newline at end of file
+}
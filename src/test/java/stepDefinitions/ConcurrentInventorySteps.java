@@ -0,0 +1,300 @@
+package stepDefinitions;
+
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.dwp.model.InventoryRequest;
+import org.dwp.model.Product;
+import org.junit.jupiter.api.Assertions;
+import utils.AsyncApiClient;
+import utils.ConfigManager;
+import utils.HttpConnectionPool;
+import utils.LatencyHistogram;
+import utils.RestAssuredClient;
+import utils.RunMetrics;
+import utils.TestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Step definitions for buying and selling the same product from many clients at once.
+ * <p>
+ * Every client runs on its own thread and waits at a start barrier, so the requests hit the server
+ * together; each client builds its request before reaching the barrier. Requests are sent with the
+ * client selected by {@code api.client.backend}, whose connection limit is raised to the number of
+ * clients, or which fails the step if its in-flight limit cannot be. The peak number of requests
+ * actually in flight is reported with each run.
+ */
+public class ConcurrentInventorySteps extends BaseSteps {
+    private ConcurrentRun lastRun;
+
+    public ConcurrentInventorySteps(TestContext testContext) {
+        super(testContext);
+    }
+
+    @When("{int} clients concurrently buy {int} unit(s) of the product")
+    public void clientsConcurrentlyBuyUnitsOfTheProduct(int clients, int quantity) {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            operations.add(new Operation(true, quantity));
+        }
+        run(operations);
+    }
+
+    @When("clients concurrently buy and sell in a random mix")
+    public void clientsConcurrentlyBuyAndSellInARandomMix() {
+        clientsConcurrentlyBuyAndSellInARandomMix(ConfigManager.getConcurrencyClients());
+    }
+
+    @When("{int} clients concurrently buy and sell in a random mix")
+    public void clientsConcurrentlyBuyAndSellInARandomMix(int clients) {
+        long seed = ConfigManager.getConcurrencySeed();
+        System.out.println("Random mix seed: " + seed);
+        Random random = new Random(seed);
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            operations.add(new Operation(random.nextBoolean(), 1 + random.nextInt(3)));
+        }
+        run(operations);
+    }
+
+    @Then("the final stock should equal the initial stock plus the net of the successful operations")
+    public void theFinalStockShouldEqualTheInitialStockPlusTheNetOfTheSuccessfulOperations() {
+        int expectedQuantity = lastRun.initialQuantity + lastRun.getNetQuantity();
+
+        Product product = awaitCurrentProduct("concurrent operations settled",
+                candidate -> candidate.getQuantity() == expectedQuantity);
+
+        Assertions.assertEquals(expectedQuantity, product.getQuantity(),
+                "Product quantity should equal the initial quantity plus the net of the successful operations");
+        Assertions.assertTrue(product.getQuantity() >= 0, "Product quantity should never be negative");
+    }
+
+    @Then("{int} concurrent purchases should succeed")
+    public void concurrentPurchasesShouldSucceed(int expected) {
+        Assertions.assertEquals(expected, lastRun.count(true, true), "Successful purchases should be " + expected);
+    }
+
+    @Then("the rejected purchases should be insufficient stock errors")
+    public void theRejectedPurchasesShouldBeInsufficientStockErrors() {
+        for (Outcome outcome : lastRun.outcomes) {
+            if (outcome.isSuccessful()) {
+                continue;
+            }
+            Assertions.assertTrue(outcome.operation.buy, "Sale should not be rejected: " + outcome.body);
+            Assertions.assertTrue(outcome.isOversellRejection(),
+                    "Rejected purchase should be an insufficient stock error: " + outcome.statusCode + " " + outcome.body);
+        }
+    }
+
+    /**
+     * Sends every operation from its own thread once all threads are ready, then reports the run.
+     */
+    private void run(List<Operation> operations) {
+        String productId = testContext.getCurrentProductId();
+        String token = RestAssuredClient.getAuthToken();
+        int initialQuantity = testContext.getCurrentProduct().getQuantity();
+        ensureCapacity(operations.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(operations.size(), runnable -> {
+            Thread thread = new Thread(runnable, "concurrent-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch ready = new CountDownLatch(operations.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (Operation operation : operations) {
+                futures.add(executor.submit(() -> {
+                    Callable<Outcome> request = prepare(token, productId, operation);
+                    ready.countDown();
+                    start.await();
+                    return request.call();
+                }));
+            }
+
+            ready.await();
+            long startNanos = System.nanoTime();
+            start.countDown();
+            int peakInFlight = 0;
+            while (!futures.stream().allMatch(Future::isDone)) {
+                peakInFlight = Math.max(peakInFlight, requestsInFlight());
+                Thread.sleep(1);
+            }
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get());
+            }
+            lastRun = new ConcurrentRun(initialQuantity, outcomes, System.nanoTime() - startNanos, peakInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the concurrent clients", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Concurrent client failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        lastRun.report();
+    }
+
+    /**
+     * Makes sure the selected client can send every request at once, so none waits for a connection.
+     */
+    private static void ensureCapacity(int clients) {
+        if (!ConfigManager.isAsyncClientBackend()) {
+            HttpConnectionPool.ensureCapacity(clients);
+        } else if (clients > AsyncApiClient.getMaxInFlight()) {
+            throw new IllegalStateException(String.format(
+                    "%d concurrent clients exceed api.async.max.in.flight=%d; raise it to at least the client count",
+                    clients, AsyncApiClient.getMaxInFlight()));
+        }
+    }
+
+    /**
+     * Counts the requests holding a connection or in-flight permit, including those of parallel scenarios.
+     */
+    private static int requestsInFlight() {
+        return ConfigManager.isAsyncClientBackend()
+                ? AsyncApiClient.getInFlight()
+                : HttpConnectionPool.getStats().getLeased();
+    }
+
+    /**
+     * Builds the request for an operation, returning the call that sends it, so clients only send once released.
+     */
+    private static Callable<Outcome> prepare(String token, String productId, Operation operation) {
+        InventoryRequest request = InventoryRequest.builder()
+                .productId(productId)
+                .quantity(operation.quantity)
+                .build();
+        String path = operation.buy ? "/inventory/buy" : "/inventory/sell";
+
+        if (ConfigManager.isAsyncClientBackend()) {
+            AsyncApiClient.RequestSpec spec = AsyncApiClient.getAuthenticatedRequestSpec(token).body(request);
+            return () -> {
+                long start = System.nanoTime();
+                AsyncApiClient.ApiResponse response = spec.post(path).join();
+                return new Outcome(operation, response.getStatusCode(), response.getBody(), System.nanoTime() - start);
+            };
+        }
+        RequestSpecification spec = RestAssuredClient.getAuthenticatedRequestSpec(token).body(request);
+        return () -> {
+            long start = System.nanoTime();
+            Response response = spec.when().post(path);
+            return new Outcome(operation, response.getStatusCode(), response.getBody().asString(),
+                    System.nanoTime() - start);
+        };
+    }
+
+    /**
+     * A buy or sell of some units.
+     */
+    private static class Operation {
+        private final boolean buy;
+        private final int quantity;
+
+        Operation(boolean buy, int quantity) {
+            this.buy = buy;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Response to one operation.
+     */
+    private static class Outcome {
+        private final Operation operation;
+        private final int statusCode;
+        private final String body;
+        private final long nanos;
+
+        Outcome(Operation operation, int statusCode, String body, long nanos) {
+            this.operation = operation;
+            this.statusCode = statusCode;
+            this.body = body;
+            this.nanos = nanos;
+        }
+
+        boolean isSuccessful() {
+            return statusCode == 200;
+        }
+
+        boolean isOversellRejection() {
+            return operation.buy && statusCode == 400 && body.toLowerCase().contains("insufficient stock");
+        }
+    }
+
+    /**
+     * Outcomes of one concurrent run.
+     */
+    private static class ConcurrentRun {
+        private final int initialQuantity;
+        private final List<Outcome> outcomes;
+        private final long wallNanos;
+        private final int peakInFlight;
+
+        ConcurrentRun(int initialQuantity, List<Outcome> outcomes, long wallNanos, int peakInFlight) {
+            this.initialQuantity = initialQuantity;
+            this.outcomes = outcomes;
+            this.wallNanos = wallNanos;
+            this.peakInFlight = peakInFlight;
+        }
+
+        int getNetQuantity() {
+            int net = 0;
+            for (Outcome outcome : outcomes) {
+                if (outcome.isSuccessful()) {
+                    net += outcome.operation.buy ? -outcome.operation.quantity : outcome.operation.quantity;
+                }
+            }
+            return net;
+        }
+
+        int count(boolean buy, boolean successful) {
+            int count = 0;
+            for (Outcome outcome : outcomes) {
+                if (outcome.operation.buy == buy && outcome.isSuccessful() == successful) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        void report() {
+            LatencyHistogram latency = new LatencyHistogram();
+            int oversellsRejected = 0;
+            for (Outcome outcome : outcomes) {
+                latency.record(outcome.nanos);
+                if (outcome.isOversellRejection()) {
+                    oversellsRejected++;
+                }
+            }
+            int buys = count(true, true) + count(true, false);
+            double seconds = wallNanos / 1e9;
+
+            RunMetrics.add("concurrency.operations", outcomes.size());
+            RunMetrics.add("concurrency.oversells.rejected", oversellsRejected);
+            System.out.println(String.format(
+                    "Concurrent run: %d operations in %.2f s (%.1f ops/s), buys ok=%d rejected=%d, sells ok=%d rejected=%d",
+                    outcomes.size(), seconds, outcomes.size() / seconds, count(true, true), count(true, false),
+                    count(false, true), count(false, false)));
+            System.out.println(String.format("  peak concurrency %d requests in flight for %d clients",
+                    peakInFlight, outcomes.size()));
+            System.out.println(String.format(
+                    "  oversell rejection rate %.1f%%, latency p50=%.1f ms p99=%.1f ms max=%.1f ms",
+                    buys > 0 ? 100.0 * oversellsRejected / buys : 0.0, latency.getPercentileMillis(50),
+                    latency.getPercentileMillis(99), latency.getMaxMillis()));
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package stepDefinitions;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
+import org.apache.http.pool.PoolStats;
 import utils.ConfigManager;
+import utils.CredentialPool;
+import utils.ExchangeCaptureFilter;
+import utils.HttpConnectionPool;
+import utils.PerformanceHistory;
+import utils.ProductPool;
+import utils.ResourceCleaner;
 import utils.RestAssuredClient;
+import utils.RunMetrics;
 import utils.TestContext;
+import utils.TokenCache;
+
+import java.io.IOException;
 
 /**
  * Hooks for Cucumber scenarios.
  */
 public class Hooks {
     private final TestContext testContext;
+    private long scenarioStart;
 
     public Hooks(TestContext testContext) {
         this.testContext = testContext;
@@ -19,9 +32,15 @@ public class Hooks {
 
     @Before
     public void setUp(Scenario scenario) {
-        // Initialize REST client (ConfigManager is initialized statically)
+        scenarioStart = System.nanoTime();
+
+        // Initialize REST client once per base URL; later scenarios and workers reuse it (ConfigManager is initialized statically)
         RestAssuredClient.initialize();
         
+        // Scenarios testing authentication itself must always hit the login endpoint
+        TokenCache.setBypassed(scenario.getSourceTagNames().contains("@NoTokenCache"));
+        ExchangeCaptureFilter.clear();
+        
         // Log scenario information
         System.out.println("Starting scenario: " + scenario.getName());
         System.out.println("Tags: " + scenario.getSourceTagNames());
@@ -31,15 +50,82 @@ public class Hooks {
     public void tearDown(Scenario scenario) {
         // Log scenario result
         System.out.println("Scenario " + scenario.getName() + " finished with status: " + scenario.getStatus());
+        String uri = scenario.getUri().toString();
+        RunMetrics.recordScenario(uri.substring(uri.lastIndexOf('/') + 1) + ": " + scenario.getName(),
+                System.nanoTime() - scenarioStart);
         
-        // Clean up resources
+        // Clean up resources; pooled products are restored with the scenario's token before it is cleared
+        ProductPool.release();
+        ResourceCleaner.delete(RestAssuredClient.getAuthToken(), testContext.drainCreatedResources());
         RestAssuredClient.clearAuthToken();
+        TokenCache.setBypassed(false);
+        CredentialPool.release();
         testContext.clearContext();
         
-        // Attach response to report if scenario failed
+        // Attach response and recent HTTP exchanges to report if scenario failed
         if (scenario.isFailed() && testContext.getLastResponse() != null) {
-            String responseBody = testContext.getLastResponse().getBody().asString();
-            scenario.attach(responseBody, "application/json", "API Response");
+            scenario.attach(testContext.getLastResponseBody(), "application/json", "API Response");
+        }
+        String exchanges = ExchangeCaptureFilter.drain();
+        if (scenario.isFailed() && !exchanges.isEmpty()) {
+            scenario.attach(exchanges, "text/plain", "HTTP Exchanges");
+        }
+    }
+
+    /**
+     * Deletes the fixture pool and, when enabled, sweeps leftover test products, before the run metrics are written.
+     */
+    @AfterAll(order = 20000)
+    public static void cleanUpTestData() {
+        ResourceCleaner.delete(null, ProductPool.drain());
+        ResourceCleaner.awaitCompletion(ConfigManager.getCleanupTimeout());
+        if (ConfigManager.isCleanupSweepEnabled()) {
+            ResourceCleaner.sweep(ProductPool.NAME_PREFIX);
+            ResourceCleaner.awaitCompletion(ConfigManager.getCleanupTimeout());
+        }
+        System.out.println(String.format("Test data cleanup: deleted=%d failed=%d",
+                RunMetrics.get("cleanup.deleted"), RunMetrics.get("cleanup.failed")));
+    }
+
+    @AfterAll
+    public static void writeRunMetrics() throws IOException {
+        System.out.println(String.format("REST client initializations: %d (%d us)",
+                RunMetrics.get("client.initializations"), RunMetrics.get("client.initialization.micros")));
+        RunMetrics.Snapshot snapshot = RunMetrics.snapshot();
+        if (!snapshot.getScenarios().isEmpty() && ConfigManager.isPerfHistoryEnabled()) {
+            recordPerformanceHistory(snapshot);
+        }
+        RunMetrics.write(RunMetrics.METRICS_FILE, snapshot);
+    }
+
+    /**
+     * Compares the run with the recent runs in the performance history, then appends it.
+     */
+    private static void recordPerformanceHistory(RunMetrics.Snapshot snapshot) throws IOException {
+        String build = ConfigManager.getBuildNumber();
+        PerformanceHistory history = PerformanceHistory.open();
+        snapshot.getRegressions().addAll(history.findRegressions(snapshot, ConfigManager.getPerfHistoryWindow(),
+                ConfigManager.getPerfRegressionThreshold(), ConfigManager.getPerfRegressionMinRuns()));
+        history.append(build, snapshot);
+
+        if (!snapshot.getRegressions().isEmpty()) {
+            System.out.println("Performance regressions against the last " + ConfigManager.getPerfHistoryWindow() + " runs:");
+            snapshot.getRegressions().forEach(regression -> System.out.println("  " + regression));
         }
     }
+
+    @AfterAll
+    public static void reportCredentialUsage() {
+        System.out.println("Credential pool usage:");
+        CredentialPool.getStats().forEach((username, stats) -> System.out.println(String.format(
+                "  %-10s leases=%d requests=%d throttled=%d",
+                username, stats.getLeases(), stats.getRequests(), stats.getThrottled())));
+    }
+
+    @AfterAll
+    public static void reportConnectionPoolUsage() {
+        PoolStats stats = HttpConnectionPool.getStats();
+        System.out.println(String.format("HTTP connection pool: leased=%d available=%d pending=%d max=%d",
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax()));
+    }
 }
\ No newline at end of file
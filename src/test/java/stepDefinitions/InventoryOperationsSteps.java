@@ -16,6 +16,7 @@ import java.util.UUID;
  * Step definitions for inventory operations scenarios.
  */
 public class InventoryOperationsSteps extends BaseSteps {
+    private static final String PRODUCT_BEFORE_OPERATION = "productBeforeOperation";
 
     public InventoryOperationsSteps(TestContext testContext) {
         super(testContext);
@@ -23,6 +24,7 @@ public class InventoryOperationsSteps extends BaseSteps {
 
     @When("I buy {string} units of the product")
     public void iBuyUnitsOfTheProduct(String quantity) {
+        testContext.setContext(PRODUCT_BEFORE_OPERATION, testContext.getCurrentProduct());
         String productId = testContext.getCurrentProductId();
         int quantityValue = Integer.parseInt(quantity);
         
@@ -39,7 +41,7 @@ public class InventoryOperationsSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 200) {
-            InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+            InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
             if (inventoryResponse.getProduct() != null) {
                 testContext.setCurrentProduct(inventoryResponse.getProduct());
             }
@@ -48,6 +50,7 @@ public class InventoryOperationsSteps extends BaseSteps {
 
     @When("I sell {string} units of the product")
     public void iSellUnitsOfTheProduct(String quantity) {
+        testContext.setContext(PRODUCT_BEFORE_OPERATION, testContext.getCurrentProduct());
         String productId = testContext.getCurrentProductId();
         int quantityValue = Integer.parseInt(quantity);
         
@@ -64,7 +67,7 @@ public class InventoryOperationsSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 200) {
-            InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+            InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
             if (inventoryResponse.getProduct() != null) {
                 testContext.setCurrentProduct(inventoryResponse.getProduct());
             }
@@ -82,13 +85,14 @@ public class InventoryOperationsSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 200) {
-            Product product = response.as(Product.class);
+            Product product = testContext.getLastResponseAs(Product.class);
             testContext.setCurrentProduct(product);
         }
     }
 
     @When("I attempt to buy {string} units of the product")
     public void iAttemptToBuyUnitsOfTheProduct(String quantity) {
+        testContext.setContext(PRODUCT_BEFORE_OPERATION, testContext.getCurrentProduct());
         String productId = testContext.getCurrentProductId();
         int quantityValue = Integer.parseInt(quantity);
         
@@ -146,7 +150,7 @@ public class InventoryOperationsSteps extends BaseSteps {
         Response response = testContext.getLastResponse();
         Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
         
-        InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+        InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
         Assertions.assertTrue(inventoryResponse.isSuccess(), "Operation should be successful");
     }
 
@@ -155,56 +159,37 @@ public class InventoryOperationsSteps extends BaseSteps {
         Response response = testContext.getLastResponse();
         Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
         
-        InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+        InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
         Assertions.assertTrue(inventoryResponse.isSuccess(), "Operation should be successful");
     }
 
     @Then("the product stock should be decreased by {string} units")
     public void theProductStockShouldBeDecreasedByUnits(String quantity) {
-        Product originalProduct = testContext.getCurrentProduct();
-        int originalQuantity = originalProduct.getQuantity();
+        int originalQuantity = getProductBeforeOperation().getQuantity();
         int decreaseAmount = Integer.parseInt(quantity);
         
-        // Get the latest product data
-        String productId = testContext.getCurrentProductId();
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .when()
-                .get("/products/" + productId);
-        
-        Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
-        
-        Product updatedProduct = response.as(Product.class);
-        int newQuantity = updatedProduct.getQuantity();
+        Product updatedProduct = awaitCurrentProduct("product stock decreased",
+                product -> product.getQuantity() == originalQuantity - decreaseAmount);
         
-        Assertions.assertEquals(originalQuantity - decreaseAmount, newQuantity, 
+        Assertions.assertEquals(originalQuantity - decreaseAmount, updatedProduct.getQuantity(), 
                 "Product quantity should be decreased by " + quantity + " units");
     }
 
     @Then("the product stock should be increased by {string} units")
     public void theProductStockShouldBeIncreasedByUnits(String quantity) {
-        Product originalProduct = testContext.getCurrentProduct();
-        int originalQuantity = originalProduct.getQuantity();
+        int originalQuantity = getProductBeforeOperation().getQuantity();
         int increaseAmount = Integer.parseInt(quantity);
         
-        // Get the latest product data
-        String productId = testContext.getCurrentProductId();
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .when()
-                .get("/products/" + productId);
-        
-        Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
-        
-        Product updatedProduct = response.as(Product.class);
-        int newQuantity = updatedProduct.getQuantity();
+        Product updatedProduct = awaitCurrentProduct("product stock increased",
+                product -> product.getQuantity() == originalQuantity + increaseAmount);
         
-        Assertions.assertEquals(originalQuantity + increaseAmount, newQuantity, 
+        Assertions.assertEquals(originalQuantity + increaseAmount, updatedProduct.getQuantity(), 
                 "Product quantity should be increased by " + quantity + " units");
     }
 
     @Then("I should receive a purchase confirmation")
     public void iShouldReceiveAPurchaseConfirmation() {
-        Response response = testContext.getLastResponse();
-        InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+        InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
         
         Assertions.assertNotNull(inventoryResponse.getMessage(), "Confirmation message should not be null");
         Assertions.assertTrue(inventoryResponse.getMessage().toLowerCase().contains("purchase") || 
@@ -214,8 +199,7 @@ public class InventoryOperationsSteps extends BaseSteps {
 
     @Then("I should receive a sale confirmation")
     public void iShouldReceiveASaleConfirmation() {
-        Response response = testContext.getLastResponse();
-        InventoryResponse inventoryResponse = response.as(InventoryResponse.class);
+        InventoryResponse inventoryResponse = testContext.getLastResponseAs(InventoryResponse.class);
         
         Assertions.assertNotNull(inventoryResponse.getMessage(), "Confirmation message should not be null");
         Assertions.assertTrue(inventoryResponse.getMessage().toLowerCase().contains("sale") || 
@@ -228,14 +212,13 @@ public class InventoryOperationsSteps extends BaseSteps {
         Response response = testContext.getLastResponse();
         Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
         
-        Product product = response.as(Product.class);
+        Product product = testContext.getLastResponseAs(Product.class);
         Assertions.assertNotNull(product.getQuantity(), "Product quantity should not be null");
     }
 
     @Then("I should receive an insufficient stock error message")
     public void iShouldReceiveAnInsufficientStockErrorMessage() {
-        Response response = testContext.getLastResponse();
-        String responseBody = response.getBody().asString();
+        String responseBody = testContext.getLastResponseBody();
         
         Assertions.assertTrue(responseBody.toLowerCase().contains("insufficient") || 
                 responseBody.toLowerCase().contains("stock") || 
@@ -245,20 +228,18 @@ public class InventoryOperationsSteps extends BaseSteps {
 
     @Then("the product stock should remain unchanged")
     public void theProductStockShouldRemainUnchanged() {
-        Product originalProduct = testContext.getCurrentProduct();
-        int originalQuantity = originalProduct.getQuantity();
+        int originalQuantity = getProductBeforeOperation().getQuantity();
         
-        // Get the latest product data
-        String productId = testContext.getCurrentProductId();
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .when()
-                .get("/products/" + productId);
-        
-        Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
+        Product updatedProduct = awaitCurrentProduct("product stock unchanged",
+                product -> product.getQuantity() == originalQuantity);
         
-        Product updatedProduct = response.as(Product.class);
-        int newQuantity = updatedProduct.getQuantity();
-        
-        Assertions.assertEquals(originalQuantity, newQuantity, "Product quantity should remain unchanged");
+        Assertions.assertEquals(originalQuantity, updatedProduct.getQuantity(), "Product quantity should remain unchanged");
+    }
+
+    /**
+     * Gets the product as it was before the last buy or sell, which replaces the current product with the result.
+     */
+    private Product getProductBeforeOperation() {
+        return (Product) testContext.getContext(PRODUCT_BEFORE_OPERATION, testContext.getCurrentProduct());
     }
 }
\ No newline at end of file
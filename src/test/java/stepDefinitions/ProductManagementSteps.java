@@ -7,11 +7,13 @@ import io.cucumber.java.en.When;
 import io.restassured.response.Response;
 import org.dwp.model.Product;
 import org.junit.jupiter.api.Assertions;
+import utils.ProductPool;
 import utils.RestAssuredClient;
 import utils.TestContext;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -43,9 +45,10 @@ public class ProductManagementSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 201) {
-            Product createdProduct = response.as(Product.class);
+            Product createdProduct = testContext.getLastResponseAs(Product.class);
             testContext.setCurrentProduct(createdProduct);
             testContext.setCurrentProductId(createdProduct.getId());
+            testContext.registerCreatedResource("/products/" + createdProduct.getId());
         }
     }
 
@@ -57,8 +60,7 @@ public class ProductManagementSteps extends BaseSteps {
 
     @Then("the response should include the product details")
     public void theResponseShouldIncludeTheProductDetails() {
-        Response response = testContext.getLastResponse();
-        Product product = response.as(Product.class);
+        Product product = testContext.getLastResponseAs(Product.class);
         
         Assertions.assertNotNull(product.getId(), "Product ID should not be null");
         Assertions.assertNotNull(product.getName(), "Product name should not be null");
@@ -81,75 +83,23 @@ public class ProductManagementSteps extends BaseSteps {
 
     @Given("there is an existing product in the inventory")
     public void thereIsAnExistingProductInTheInventory() {
-        // Create a test product
-        String uniqueName = "Test Product " + UUID.randomUUID().toString().substring(0, 8);
-        
-        Product product = Product.builder()
-                .name(uniqueName)
-                .description("Test product description")
-                .price(19.99)
-                .quantity(100)
-                .build();
-        
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .body(product)
-                .when()
-                .post("/products");
-        
-        Assertions.assertEquals(201, response.getStatusCode(), "Status code should be 201");
-        
-        Product createdProduct = response.as(Product.class);
-        testContext.setCurrentProduct(createdProduct);
-        testContext.setCurrentProductId(createdProduct.getId());
+        Product product = ProductPool.lease(ProductPool.DEFAULT_QUANTITY);
+        testContext.setCurrentProduct(product);
+        testContext.setCurrentProductId(product.getId());
     }
 
     @Given("there is an existing product in the inventory with sufficient stock")
     public void thereIsAnExistingProductInTheInventoryWithSufficientStock() {
-        // Create a test product with sufficient stock
-        String uniqueName = "Test Product " + UUID.randomUUID().toString().substring(0, 8);
-        
-        Product product = Product.builder()
-                .name(uniqueName)
-                .description("Test product description")
-                .price(19.99)
-                .quantity(100)
-                .build();
-        
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .body(product)
-                .when()
-                .post("/products");
-        
-        Assertions.assertEquals(201, response.getStatusCode(), "Status code should be 201");
-        
-        Product createdProduct = response.as(Product.class);
-        testContext.setCurrentProduct(createdProduct);
-        testContext.setCurrentProductId(createdProduct.getId());
+        Product product = ProductPool.lease(ProductPool.DEFAULT_QUANTITY);
+        testContext.setCurrentProduct(product);
+        testContext.setCurrentProductId(product.getId());
     }
 
     @Given("there is an existing product in the inventory with {string} units in stock")
     public void thereIsAnExistingProductInTheInventoryWithUnitsInStock(String quantity) {
-        // Create a test product with specific quantity
-        String uniqueName = "Test Product " + UUID.randomUUID().toString().substring(0, 8);
-        int stockQuantity = Integer.parseInt(quantity);
-        
-        Product product = Product.builder()
-                .name(uniqueName)
-                .description("Test product description")
-                .price(19.99)
-                .quantity(stockQuantity)
-                .build();
-        
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .body(product)
-                .when()
-                .post("/products");
-        
-        Assertions.assertEquals(201, response.getStatusCode(), "Status code should be 201");
-        
-        Product createdProduct = response.as(Product.class);
-        testContext.setCurrentProduct(createdProduct);
-        testContext.setCurrentProductId(createdProduct.getId());
+        Product product = ProductPool.lease(Integer.parseInt(quantity));
+        testContext.setCurrentProduct(product);
+        testContext.setCurrentProductId(product.getId());
     }
 
     @When("I update the product with the following details:")
@@ -174,7 +124,7 @@ public class ProductManagementSteps extends BaseSteps {
         testContext.setLastResponse(response);
         
         if (response.getStatusCode() == 200) {
-            Product updatedProduct = response.as(Product.class);
+            Product updatedProduct = testContext.getLastResponseAs(Product.class);
             testContext.setCurrentProduct(updatedProduct);
         }
     }
@@ -187,8 +137,7 @@ public class ProductManagementSteps extends BaseSteps {
 
     @Then("the response should include the updated product details")
     public void theResponseShouldIncludeTheUpdatedProductDetails() {
-        Response response = testContext.getLastResponse();
-        Product product = response.as(Product.class);
+        Product product = testContext.getLastResponseAs(Product.class);
         
         Assertions.assertNotNull(product.getId(), "Product ID should not be null");
         Assertions.assertEquals(testContext.getCurrentProductId(), product.getId(), "Product ID should match");
@@ -196,17 +145,14 @@ public class ProductManagementSteps extends BaseSteps {
 
     @Then("the product details should be updated in the inventory")
     public void theProductDetailsShouldBeUpdatedInTheInventory() {
-        String productId = testContext.getCurrentProductId();
-        
-        Response response = RestAssuredClient.getAuthenticatedRequestSpec()
-                .when()
-                .get("/products/" + productId);
-        
-        Assertions.assertEquals(200, response.getStatusCode(), "Status code should be 200");
-        
-        Product product = response.as(Product.class);
         Product updatedProduct = testContext.getCurrentProduct();
         
+        Product product = awaitCurrentProduct("product details updated",
+                candidate -> Objects.equals(updatedProduct.getName(), candidate.getName())
+                        && Objects.equals(updatedProduct.getDescription(), candidate.getDescription())
+                        && Math.abs(updatedProduct.getPrice() - candidate.getPrice()) < 0.001
+                        && updatedProduct.getQuantity() == candidate.getQuantity());
+        
         Assertions.assertEquals(updatedProduct.getName(), product.getName(), "Product name should match");
         Assertions.assertEquals(updatedProduct.getDescription(), product.getDescription(), "Product description should match");
         Assertions.assertEquals(updatedProduct.getPrice(), product.getPrice(), 0.001, "Product price should match");
@@ -222,6 +168,11 @@ public class ProductManagementSteps extends BaseSteps {
                 .delete("/products/" + productId);
         
         testContext.setLastResponse(response);
+        
+        if (response.getStatusCode() == 200) {
+            ProductPool.discard(productId);
+            testContext.unregisterCreatedResource("/products/" + productId);
+        }
     }
 
     @Then("the product should be deleted successfully")
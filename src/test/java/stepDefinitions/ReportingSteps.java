@@ -12,7 +12,7 @@ public class ReportingSteps {
 
     private Response response;
     private String token;
-    private final String BASE_URL = ConfigReader.getProperty("api.base.url");
+    private final String BASE_URL = ConfigReader.getBaseUrl();
 
     @When("I request an inventory summary report")
     public void requestInventorySummary() {
@@ -2,6 +2,7 @@ package stepDefinitions;
 
 import utils.AuthHelper;
 import utils.ConfigReader;
+import utils.TestContext;
 import io.restassured.response.Response;
 import io.cucumber.java.en.*;
 import io.cucumber.datatable.DataTable;
@@ -12,10 +13,15 @@ import java.util.Map;
 
 public class UserManagementSteps {
 
+    private final TestContext testContext;
     private Response response;
     private String token;
     private String username;
-    private final String BASE_URL = ConfigReader.getProperty("api.base.url");
+    private final String BASE_URL = ConfigReader.getBaseUrl();
+
+    public UserManagementSteps(TestContext testContext) {
+        this.testContext = testContext;
+    }
 
     @When("I send a request to create a user with:")
     public void createUser(DataTable dataTable) {
@@ -34,6 +40,9 @@ public class UserManagementSteps {
                 .post(BASE_URL + "/api/users");
         
         assertNotNull(response);
+        if (response.statusCode() == 201) {
+            testContext.registerCreatedResource("/api/users/" + username);
+        }
     }
 
     @Then("the user should be created successfully")
@@ -58,6 +67,9 @@ public class UserManagementSteps {
                     .body(String.format("{ \"username\": \"%s\", \"email\": \"%s@example.com\", \"role\": \"user\", \"password\": \"password123\" }", 
                             username, username))
                     .post(BASE_URL + "/api/users");
+            if (response.statusCode() == 201) {
+                testContext.registerCreatedResource("/api/users/" + username);
+            }
         }
     }
 
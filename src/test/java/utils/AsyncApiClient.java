@@ -0,0 +1,264 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dwp.model.AuthRequest;
+import org.dwp.model.AuthResponse;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking alternative to {@link RestAssuredClient}, built on the JDK {@link HttpClient}.
+ * <p>
+ * Requests return {@link CompletableFuture}s, so a few threads can keep hundreds of calls in flight.
+ * At most {@code api.async.max.in.flight} requests are sent at a time; the rest are queued without
+ * blocking the caller. Latencies are recorded in {@link RunMetrics} under the same endpoint keys as
+ * {@link LatencyFilter}, so runs on either backend ({@code api.client.backend}) can be compared.
+ * Unlike the RestAssured backend, failed requests are not retried.
+ */
+public class AsyncApiClient {
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(ConfigManager.getConnectTimeout()))
+            .build();
+    private static final int maxInFlight = ConfigManager.getAsyncMaxInFlight();
+    private static final Semaphore inFlight = new Semaphore(maxInFlight);
+    private static final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Sends a login request.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the authentication response, with a null token if the login failed
+     */
+    public static CompletableFuture<AuthResponse> authenticate(String username, String password) {
+        return getUnauthenticatedRequestSpec()
+                .body(new AuthRequest(username, password))
+                .post("/auth/login")
+                .thenApply(response -> {
+                    AuthResponse authResponse = response.as(AuthResponse.class);
+                    if (response.getStatusCode() != 200) {
+                        authResponse.setToken(null);
+                    }
+                    return authResponse;
+                });
+    }
+
+    /**
+     * Gets a request specification with the token of the current thread's {@link RestAssuredClient}.
+     *
+     * @return the authenticated request specification
+     */
+    public static RequestSpec getAuthenticatedRequestSpec() {
+        return getAuthenticatedRequestSpec(RestAssuredClient.getAuthToken());
+    }
+
+    /**
+     * Gets a request specification with a given authentication token.
+     *
+     * @param token the authentication token
+     * @return the authenticated request specification
+     */
+    public static RequestSpec getAuthenticatedRequestSpec(String token) {
+        if (token == null) {
+            throw new IllegalStateException("Authentication token is not set. Please authenticate first.");
+        }
+        return new RequestSpec(token);
+    }
+
+    /**
+     * Gets a request specification without authentication token.
+     *
+     * @return the unauthenticated request specification
+     */
+    public static RequestSpec getUnauthenticatedRequestSpec() {
+        return new RequestSpec(null);
+    }
+
+    /**
+     * Gets the number of requests currently sent and awaiting a response, excluding queued ones.
+     *
+     * @return the number of requests in flight
+     */
+    public static int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Gets the maximum number of requests kept in flight.
+     *
+     * @return the in-flight limit
+     */
+    public static int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Queues a request and sends as many queued requests as the in-flight limit allows.
+     */
+    private static CompletableFuture<ApiResponse> send(HttpRequest request, String endpoint) {
+        String step = CurrentStepPlugin.getCurrentStep();
+        CompletableFuture<ApiResponse> result = new CompletableFuture<>();
+        queued.add(() -> {
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<String>> response;
+            try {
+                response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            } catch (RuntimeException e) {
+                inFlight.release();
+                sendQueued();
+                result.completeExceptionally(e);
+                return;
+            }
+            response.whenComplete((received, error) -> {
+                long nanos = System.nanoTime() - start;
+                inFlight.release();
+                sendQueued();
+                RunMetrics.recordLatency(endpoint, nanos);
+                if (step != null) {
+                    RunMetrics.recordStepEndpoint(step, endpoint, nanos);
+                }
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(new ApiResponse(received.statusCode(), received.body()));
+                }
+            });
+        });
+        sendQueued();
+        return result;
+    }
+
+    private static void sendQueued() {
+        while (!queued.isEmpty() && inFlight.tryAcquire()) {
+            Runnable next = queued.poll();
+            if (next == null) {
+                inFlight.release();
+            } else {
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Request under construction, sent by one of the method calls.
+     */
+    public static class RequestSpec {
+        private final String token;
+        private Object body;
+
+        RequestSpec(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Sets the request body, serialized as JSON.
+         *
+         * @param body the body
+         * @return this request specification
+         */
+        public RequestSpec body(Object body) {
+            this.body = body;
+            return this;
+        }
+
+        public CompletableFuture<ApiResponse> get(String path) {
+            return request("GET", path);
+        }
+
+        public CompletableFuture<ApiResponse> post(String path) {
+            return request("POST", path);
+        }
+
+        public CompletableFuture<ApiResponse> put(String path) {
+            return request("PUT", path);
+        }
+
+        public CompletableFuture<ApiResponse> delete(String path) {
+            return request("DELETE", path);
+        }
+
+        /**
+         * Sends the request.
+         *
+         * @param method the HTTP method
+         * @param path   the path, relative to the base URL
+         * @return the response, once it has been received
+         */
+        public CompletableFuture<ApiResponse> request(String method, String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(ConfigManager.getBaseUrl() + path))
+                    .timeout(Duration.ofMillis(ConfigManager.getReadTimeout()))
+                    .header("Accept", "application/json");
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofString(toJson(body)));
+            } else {
+                builder.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            return send(builder.build(), LatencyFilter.endpoint(method, path));
+        }
+
+        private static String toJson(Object body) {
+            if (body instanceof String) {
+                return (String) body;
+            }
+            try {
+                return mapper.writeValueAsString(body);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Status and body of a response, bound to a model class on demand.
+     */
+    public static class ApiResponse {
+        private final int statusCode;
+        private final String body;
+
+        ApiResponse(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * Binds the JSON body to a type.
+         *
+         * @param type the type to bind the body to
+         * @param <T>  the type
+         * @return the bound body
+         */
+        public <T> T as(Class<T> type) {
+            try {
+                return mapper.readValue(body, type);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.dwp.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncApiClient
+ */
+public class AsyncApiClientTest {
+    private static final String PRODUCT_JSON =
+            "{\"id\":\"p1\",\"name\":\"Widget\",\"price\":2.5,\"quantity\":7,\"createdAt\":\"2024-01-01\"}";
+
+    private HttpServer server;
+    private ExecutorService handlers;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            byte[] body = PRODUCT_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            exchange.close();
+        });
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.start();
+        System.setProperty("api.base.url", "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        released.countDown();
+        server.stop(0);
+        handlers.shutdownNow();
+        System.clearProperty("api.base.url");
+    }
+
+    @Test
+    public void testRequestsBeyondTheInFlightLimitAreQueued() throws InterruptedException {
+        int limit = ConfigManager.getAsyncMaxInFlight();
+        List<CompletableFuture<AsyncApiClient.ApiResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < limit + 5; i++) {
+            responses.add(AsyncApiClient.getUnauthenticatedRequestSpec().get("/products/p1"));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (active.get() < limit && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertEquals(limit, active.get(), "Server should see exactly the in-flight limit of requests");
+        assertTrue(responses.stream().noneMatch(CompletableFuture::isDone), "Queued requests should still be waiting");
+
+        released.countDown();
+        for (CompletableFuture<AsyncApiClient.ApiResponse> response : responses) {
+            assertEquals(200, response.join().getStatusCode());
+        }
+        assertEquals(limit, maxActive.get(), "Queued requests should never exceed the in-flight limit");
+    }
+
+    @Test
+    public void testResponseIsBoundToTheModel() {
+        released.countDown();
+
+        AsyncApiClient.ApiResponse response = AsyncApiClient.getAuthenticatedRequestSpec("token")
+                .get("/products/p1")
+                .join();
+
+        assertEquals(200, response.getStatusCode());
+        Product product = response.as(Product.class);
+        assertEquals("p1", product.getId());
+        assertEquals("Widget", product.getName());
+        assertEquals(7, product.getQuantity());
+        assertEquals(2.5, product.getPrice(), 0.001);
+    }
+}
@@ -2,6 +2,7 @@ package utils;
 
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import org.dwp.model.AuthResponse;
 import static io.restassured.RestAssured.*;
 
 /**
@@ -18,22 +19,30 @@ public class AuthHelper {
      * @return the authentication token
      */
     public static String getAuthToken(String username, String password) {
+        return TokenCache.getAuthResponse(username, password, AuthHelper::login).getToken();
+    }
+
+    /**
+     * Sends a login request for the specified credentials.
+     */
+    private static AuthResponse login(String username, String password) {
         Response response = RestAssured.given()
                 .contentType("application/json")
                 .body(String.format("{ \"username\": \"%s\", \"password\": \"%s\" }", username, password))
                 .post(BASE_URL + "/auth/login");
 
-        return response.jsonPath().getString("token");
+        return AuthResponse.builder()
+                .token(response.getStatusCode() == 200 ? response.jsonPath().getString("token") : null)
+                .build();
     }
     
     /**
-     * Gets an authentication token using the default credentials from configuration.
+     * Gets an authentication token using the account leased from the credential pool.
      *
      * @return the authentication token
      */
     public static String getDefaultAuthToken() {
-        String username = ConfigManager.getUsername();
-        String password = ConfigManager.getPassword();
-        return getAuthToken(username, password);
+        CredentialPool.Credential credential = CredentialPool.lease();
+        return getAuthToken(credential.getUsername(), credential.getPassword());
     }
 }
@@ -0,0 +1,42 @@
+package utils;
+
+/**
+ * Run-wide circuit breaker for the API host.
+ * <p>
+ * After {@code api.circuit.threshold} consecutive failures the circuit opens for
+ * {@code api.circuit.open.ms}, during which callers should stop retrying. Once that period has
+ * passed, the next outcome decides whether it closes again.
+ */
+public class CircuitBreaker {
+    private static int consecutiveFailures;
+    private static long openUntil;
+
+    /**
+     * Checks whether the circuit is open, meaning the host looks down and retries should be skipped.
+     *
+     * @return true if the circuit is open
+     */
+    public static synchronized boolean isOpen() {
+        return System.currentTimeMillis() < openUntil;
+    }
+
+    /**
+     * Records a successful call, closing the circuit.
+     */
+    public static synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        openUntil = 0;
+    }
+
+    /**
+     * Records a failed call, opening the circuit once the failure threshold is reached.
+     */
+    public static synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= ConfigManager.getCircuitThreshold() && !isOpen()) {
+            openUntil = System.currentTimeMillis() + ConfigManager.getCircuitOpenMillis();
+            RunMetrics.increment("http.circuit.opened");
+            System.err.println("Circuit opened after " + consecutiveFailures + " consecutive failures");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -26,31 +28,192 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Gets a property value, letting a system property of the same name override the file.
+     */
+    private static String getProperty(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+
     public static String getBaseUrl() {
-        return properties.getProperty("api.base.url");
+        if (isLocalEnvironment()) {
+            return LocalApiServer.getInstance().getBaseUrl();
+        }
+        return getProperty("api.base.url", null);
+    }
+
+    /**
+     * Checks whether the run targets the in-process {@link LocalApiServer} ({@code -Denvironment=local}).
+     */
+    public static boolean isLocalEnvironment() {
+        return "local".equals(System.getProperty("environment"));
+    }
+
+    public static int getLocalPort() {
+        return Integer.parseInt(getProperty("api.local.port", "0"));
     }
 
     public static int getConnectTimeout() {
-        return Integer.parseInt(properties.getProperty("api.timeout.connect", "10000"));
+        return Integer.parseInt(getProperty("api.timeout.connect", "10000"));
     }
     
     public static int getReadTimeout() {
-        return Integer.parseInt(properties.getProperty("api.timeout.read", "30000"));
+        return Integer.parseInt(getProperty("api.timeout.read", "30000"));
     }
     
     public static String getUsername() {
-        return properties.getProperty("api.username");
+        return getProperty("api.username", null);
     }
     
     public static String getPassword() {
-        return properties.getProperty("api.password");
+        return getProperty("api.password", null);
     }
     
     public static int getMaxRetries() {
-        return Integer.parseInt(properties.getProperty("api.retry.max", "3"));
+        return Integer.parseInt(getProperty("api.retry.max", "3"));
     }
     
     public static int getRetryDelay() {
-        return Integer.parseInt(properties.getProperty("api.retry.delay", "2000"));
+        return Integer.parseInt(getProperty("api.retry.delay", "2000"));
+    }
+
+    public static int getRetryBudget() {
+        return Integer.parseInt(getProperty("api.retry.budget", "20"));
+    }
+
+    public static int getCircuitThreshold() {
+        return Integer.parseInt(getProperty("api.circuit.threshold", "5"));
+    }
+
+    public static long getCircuitOpenMillis() {
+        return Long.parseLong(getProperty("api.circuit.open.ms", "30000"));
+    }
+
+    public static boolean isTokenCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("api.token.cache.enabled", "true"));
+    }
+
+    public static long getTokenTtl() {
+        return Long.parseLong(getProperty("api.token.ttl", "3600000"));
+    }
+
+    public static int getPoolMaxTotal() {
+        return Integer.parseInt(getProperty("api.pool.max.total", "20"));
+    }
+
+    public static int getPoolMaxPerRoute() {
+        return Integer.parseInt(getProperty("api.pool.max.per.route", "20"));
+    }
+
+    public static long getPoolKeepAlive() {
+        return Long.parseLong(getProperty("api.pool.keepalive", "30000"));
+    }
+
+    public static long getPoolIdleTimeout() {
+        return Long.parseLong(getProperty("api.pool.idle.timeout", "30000"));
+    }
+
+    public static boolean isVerboseLogging() {
+        return Boolean.parseBoolean(getProperty("api.log.verbose", "false"));
+    }
+
+    public static int getLogBufferSize() {
+        return Integer.parseInt(getProperty("api.log.buffer.size", "20"));
+    }
+
+    /**
+     * Gets the client used for background requests: {@code restassured} (default) or {@code async}.
+     */
+    public static String getApiClientBackend() {
+        return getProperty("api.client.backend", "restassured");
+    }
+
+    public static boolean isAsyncClientBackend() {
+        return "async".equals(getApiClientBackend());
+    }
+
+    public static int getAsyncMaxInFlight() {
+        return Integer.parseInt(getProperty("api.async.max.in.flight", "64"));
+    }
+
+    public static int getFixturePoolSize() {
+        return Integer.parseInt(getProperty("fixture.pool.size", "10"));
+    }
+
+    public static int getFixturePoolConcurrency() {
+        return Integer.parseInt(getProperty("fixture.pool.concurrency", "4"));
+    }
+
+    public static int getCleanupConcurrency() {
+        return Integer.parseInt(getProperty("cleanup.concurrency", "4"));
+    }
+
+    public static boolean isCleanupSweepEnabled() {
+        return Boolean.parseBoolean(getProperty("cleanup.sweep.enabled", "false"));
+    }
+
+    public static long getCleanupTimeout() {
+        return Long.parseLong(getProperty("cleanup.timeout", "30000"));
+    }
+
+    public static int getConcurrencyClients() {
+        return Integer.parseInt(getProperty("concurrency.clients", "50"));
+    }
+
+    /**
+     * Gets the seed of the random buy and sell mix, a new one per call unless {@code concurrency.seed} is set.
+     */
+    public static long getConcurrencySeed() {
+        String seed = getProperty("concurrency.seed", null);
+        return seed != null ? Long.parseLong(seed) : System.nanoTime();
+    }
+
+    public static long getVerifyTimeout() {
+        return Long.parseLong(getProperty("verify.timeout", "10000"));
+    }
+
+    public static long getVerifyInitialDelay() {
+        return Long.parseLong(getProperty("verify.poll.initial", "50"));
+    }
+
+    public static long getVerifyMaxDelay() {
+        return Long.parseLong(getProperty("verify.poll.max", "2000"));
+    }
+
+    public static boolean isPerfHistoryEnabled() {
+        return Boolean.parseBoolean(getProperty("perf.history.enabled", "true"));
+    }
+
+    public static String getPerfHistoryDir() {
+        return getProperty("perf.history.dir", "perf-history");
+    }
+
+    public static int getPerfHistoryWindow() {
+        return Integer.parseInt(getProperty("perf.history.window", "10"));
+    }
+
+    public static double getPerfRegressionThreshold() {
+        return Double.parseDouble(getProperty("perf.regression.threshold", "0.2"));
+    }
+
+    public static int getPerfRegressionMinRuns() {
+        return Integer.parseInt(getProperty("perf.regression.min.runs", "3"));
+    }
+
+    /**
+     * Gets the build number the run is recorded under in the performance history ({@code -Dmaven.build.number}).
+     */
+    public static String getBuildNumber() {
+        return System.getProperty("maven.build.number", System.getProperty("build.number", "1"));
+    }
+
+    public static List<String> getCredentialPool() {
+        List<String> usernames = new ArrayList<>();
+        for (String username : getProperty("api.credentials.pool", "").split(",")) {
+            if (!username.isBlank()) {
+                usernames.add(username.trim());
+            }
+        }
+        return usernames;
     }
 }
@@ -59,6 +59,9 @@ public class ConfigReader {
      * @return the base URL
      */
     public static String getBaseUrl() {
+        if (ConfigManager.isLocalEnvironment()) {
+            return LocalApiServer.getInstance().getBaseUrl();
+        }
         return getProperty("api.base.url");
     }
 
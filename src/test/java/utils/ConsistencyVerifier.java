@@ -0,0 +1,74 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Reads from the API until a read reflects an earlier write, instead of asserting on a single read.
+ * <p>
+ * A check reads again with doubling delays until the expected state is seen or {@code verify.timeout}
+ * passes. The first delay follows a moving average of how long the same check had to wait earlier in the
+ * run, so a lagging backend is not polled needlessly and a consistent one costs a single read. The time
+ * each check took to converge is recorded in the run metrics.
+ */
+public class ConsistencyVerifier {
+    private static final double SMOOTHING = 0.3;
+
+    private static final Map<String, Double> averageWaitMillis = new ConcurrentHashMap<>();
+
+    /**
+     * Reads until the value matches the expected state or the deadline passes.
+     *
+     * @param check    the name of the check, used for its metrics and moving average
+     * @param read     the read to repeat
+     * @param expected the expected state
+     * @param <T>      the type of the value read
+     * @return the last value read, which the caller asserts on
+     */
+    public static <T> T await(String check, Supplier<T> read, Predicate<T> expected) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(ConfigManager.getVerifyTimeout());
+        long delay = initialDelayMillis(check);
+
+        T value = read.get();
+        long firstRead = System.nanoTime();
+        int reads = 1;
+        boolean converged = expected.test(value);
+        while (!converged && System.nanoTime() < deadline
+                && sleep(Math.min(delay, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())))) {
+            value = read.get();
+            reads++;
+            converged = expected.test(value);
+            delay = Math.min(delay * 2, ConfigManager.getVerifyMaxDelay());
+        }
+
+        long end = System.nanoTime();
+        RunMetrics.add("consistency.reads", reads);
+        if (converged) {
+            RunMetrics.recordConvergence(check, end - start);
+            double waitMillis = (end - firstRead) / 1e6;
+            averageWaitMillis.merge(check, waitMillis, (average, sample) -> average + SMOOTHING * (sample - average));
+        } else {
+            RunMetrics.increment("consistency.timeouts");
+        }
+        return value;
+    }
+
+    private static long initialDelayMillis(String check) {
+        long delay = averageWaitMillis.getOrDefault(check, 0.0).longValue();
+        return Math.min(Math.max(delay, ConfigManager.getVerifyInitialDelay()), ConfigManager.getVerifyMaxDelay());
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(0, millis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of interchangeable test accounts leased to the scenario running on each thread.
+ * <p>
+ * A lease picks the account with the fewest active leases, then the fewest throttling responses,
+ * then the fewest requests, so load spreads evenly across the accounts listed in
+ * {@code api.credentials.pool}. When there are more workers than accounts, accounts are shared
+ * rather than making workers wait.
+ */
+public class CredentialPool {
+    private static final List<Account> accounts = createAccounts();
+    private static final ThreadLocal<Account> leased = new ThreadLocal<>();
+
+    /**
+     * Leases an account to the current thread, returning the one already leased if there is one.
+     *
+     * @return the leased credential
+     */
+    public static Credential lease() {
+        Account account = leased.get();
+        if (account == null) {
+            synchronized (accounts) {
+                account = Collections.min(accounts, Comparator
+                        .comparingInt((Account a) -> a.activeLeases.get())
+                        .thenComparingLong(a -> a.throttled.get())
+                        .thenComparingLong(a -> a.requests.get()));
+                account.activeLeases.incrementAndGet();
+                account.leases.incrementAndGet();
+            }
+            leased.set(account);
+        }
+        return account.credential;
+    }
+
+    /**
+     * Returns the account leased to the current thread to the pool.
+     */
+    public static void release() {
+        Account account = leased.get();
+        if (account != null) {
+            synchronized (accounts) {
+                account.activeLeases.decrementAndGet();
+            }
+            leased.remove();
+        }
+    }
+
+    /**
+     * Gets the credential for a username, substituting the leased account when the username belongs to the pool.
+     * Pool accounts are interchangeable, so a step naming one of them authenticates as the current lease.
+     *
+     * @param username the requested username
+     * @param password the requested password
+     * @return the credential to authenticate with
+     */
+    public static Credential resolve(String username, String password) {
+        for (Account account : accounts) {
+            if (account.credential.getUsername().equals(username)
+                    && account.credential.getPassword().equals(password)) {
+                return lease();
+            }
+        }
+        return new Credential(username, password);
+    }
+
+    /**
+     * Records a response received by the account leased to the current thread.
+     *
+     * @param statusCode the response status code
+     */
+    public static void recordResponse(int statusCode) {
+        Account account = leased.get();
+        if (account != null) {
+            account.requests.incrementAndGet();
+            if (statusCode == 429) {
+                account.throttled.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Gets a snapshot of the usage of each account.
+     *
+     * @return usage statistics keyed by username, in pool order
+     */
+    public static Map<String, AccountStats> getStats() {
+        Map<String, AccountStats> stats = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            stats.put(account.credential.getUsername(), new AccountStats(
+                    account.leases.get(), account.requests.get(), account.throttled.get()));
+        }
+        return stats;
+    }
+
+    private static List<Account> createAccounts() {
+        String password = ConfigManager.getPassword();
+        List<Account> pool = new ArrayList<>();
+        for (String username : ConfigManager.getCredentialPool()) {
+            pool.add(new Account(new Credential(username, password)));
+        }
+        if (pool.isEmpty()) {
+            pool.add(new Account(new Credential(ConfigManager.getUsername(), password)));
+        }
+        return pool;
+    }
+
+    /**
+     * Username and password of a test account.
+     */
+    public static class Credential {
+        private final String username;
+        private final String password;
+
+        public Credential(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+
+    /**
+     * Usage statistics of a single account.
+     */
+    public static class AccountStats {
+        private final int leases;
+        private final long requests;
+        private final long throttled;
+
+        public AccountStats(int leases, long requests, long throttled) {
+            this.leases = leases;
+            this.requests = requests;
+            this.throttled = throttled;
+        }
+
+        public int getLeases() {
+            return leases;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getThrottled() {
+            return throttled;
+        }
+    }
+
+    private static class Account {
+        private final Credential credential;
+        private final AtomicInteger activeLeases = new AtomicInteger();
+        private final AtomicInteger leases = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+
+        Account(Credential credential) {
+            this.credential = credential;
+        }
+    }
+}
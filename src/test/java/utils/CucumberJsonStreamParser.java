@@ -0,0 +1,274 @@
+package utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes {@link ReportStatistics} from a Cucumber JSON report one token at a time.
+ * <p>
+ * Only the fields the statistics need are read; everything else, including {@code embeddings}
+ * and {@code output} blobs attached by failing scenarios, is skipped without being materialized,
+ * so memory use does not grow with the size of the report.
+ */
+public class CucumberJsonStreamParser {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /**
+     * Parses a Cucumber JSON report file.
+     *
+     * @param file  the report file
+     * @param stats the statistics to add the report's scenarios to
+     * @throws IOException if the file cannot be read or is not a Cucumber JSON report
+     */
+    public static void parse(File file, ReportStatistics stats) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            parse(reader, stats);
+        }
+    }
+
+    /**
+     * Parses a Cucumber JSON report file, hashing its content in the same pass.
+     *
+     * @param file  the report file
+     * @param stats the statistics to add the report's scenarios to
+     * @return the SHA-256 of the file content as hex
+     * @throws IOException if the file cannot be read or is not a Cucumber JSON report
+     */
+    public static String parseAndHash(File file, ReportStatistics stats) throws IOException {
+        MessageDigest digest = ReportCache.newDigest();
+        try (Reader reader = new InputStreamReader(new DigestInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())), digest), StandardCharsets.UTF_8)) {
+            parse(reader, stats);
+            // Hash whatever follows the top-level array too
+            char[] remainder = new char[1024];
+            while (reader.read(remainder) != -1) {
+                // Discard
+            }
+        }
+        return ReportCache.toHex(digest.digest());
+    }
+
+    /**
+     * Parses a Cucumber JSON report.
+     *
+     * @param reader the report content
+     * @param stats  the statistics to add the report's scenarios to
+     * @throws IOException if the content cannot be read or is not a Cucumber JSON report
+     */
+    public static void parse(Reader reader, ReportStatistics stats) throws IOException {
+        JsonReader json = new JsonReader(reader);
+        json.beginArray();
+        while (json.hasNext()) {
+            readFeature(json, stats);
+        }
+        json.endArray();
+    }
+
+    private static void readFeature(JsonReader json, ReportStatistics stats) throws IOException {
+        String featureName = null;
+        String uri = null;
+        List<Scenario> scenarios = new ArrayList<>();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if ("name".equals(name)) {
+                featureName = nextStringOrNull(json);
+            } else if ("uri".equals(name)) {
+                uri = nextStringOrNull(json);
+            } else if ("elements".equals(name)) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    Scenario scenario = readElement(json, stats);
+                    // Only count scenarios (not backgrounds)
+                    if ("scenario".equals(scenario.type)) {
+                        scenarios.add(scenario);
+                    }
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        // The feature name may follow its elements, so scenarios are only added once the feature is complete
+        String feature = featureName != null && !featureName.isEmpty() ? featureName : String.valueOf(uri);
+        for (Scenario scenario : scenarios) {
+            stats.addScenario(feature, scenario.name, scenario.tags, scenario.passed, scenario.durationNanos,
+                    scenario.errorMessage);
+            if (scenario.startTimestamp != null) {
+                try {
+                    stats.addTimeSpan(Instant.parse(scenario.startTimestamp).toEpochMilli(), scenario.durationNanos);
+                } catch (DateTimeParseException e) {
+                    // Not a timestamp Cucumber writes; the scenario does not count towards the wall time
+                }
+            }
+        }
+    }
+
+    private static Scenario readElement(JsonReader json, ReportStatistics stats) throws IOException {
+        Scenario scenario = new Scenario();
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if ("type".equals(name)) {
+                scenario.type = nextStringOrNull(json);
+            } else if ("start_timestamp".equals(name)) {
+                scenario.startTimestamp = nextStringOrNull(json);
+            } else if ("name".equals(name)) {
+                scenario.name = nextStringOrNull(json);
+            } else if ("tags".equals(name)) {
+                readTags(json, scenario.tags);
+            } else if ("steps".equals(name)) {
+                readSteps(json, scenario, stats, true);
+            } else if ("before".equals(name) || "after".equals(name)) {
+                readSteps(json, scenario, stats, false);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return scenario;
+    }
+
+    private static void readTags(JsonReader json, List<String> tags) throws IOException {
+        json.beginArray();
+        while (json.hasNext()) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if ("name".equals(json.nextName())) {
+                    String tag = nextStringOrNull(json);
+                    if (tag != null) {
+                        tags.add(tag);
+                    }
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * Reads steps or hooks, adding their durations to the scenario. Only steps decide whether it passed.
+     */
+    private static void readSteps(JsonReader json, Scenario scenario, ReportStatistics stats, boolean steps)
+            throws IOException {
+        json.beginArray();
+        while (json.hasNext()) {
+            Result result = readResult(json);
+            scenario.durationNanos += result.durationNanos;
+            if (steps && result.text != null) {
+                stats.addStep(result.location != null ? result.location : result.text, result.text, result.durationNanos);
+            }
+            if (steps && result.status != null && !"passed".equals(result.status)) {
+                if (scenario.passed) {
+                    scenario.errorMessage = result.errorMessage != null ? result.errorMessage : result.status;
+                }
+                scenario.passed = false;
+            }
+        }
+        json.endArray();
+    }
+
+    private static Result readResult(JsonReader json) throws IOException {
+        Result result = new Result();
+        String keyword = "";
+        json.beginObject();
+        while (json.hasNext()) {
+            String field = json.nextName();
+            if ("keyword".equals(field)) {
+                String value = nextStringOrNull(json);
+                keyword = value != null ? value : "";
+            } else if ("name".equals(field)) {
+                result.text = nextStringOrNull(json);
+            } else if ("match".equals(field) && json.peek() == JsonToken.BEGIN_OBJECT) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    if ("location".equals(json.nextName())) {
+                        result.location = nextStringOrNull(json);
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+            } else if ("result".equals(field) && json.peek() == JsonToken.BEGIN_OBJECT) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    String name = json.nextName();
+                    if ("status".equals(name)) {
+                        result.status = nextStringOrNull(json);
+                    } else if ("error_message".equals(name)) {
+                        result.errorMessage = firstLine(nextStringOrNull(json));
+                    } else if ("duration".equals(name) && json.peek() == JsonToken.NUMBER) {
+                        result.durationNanos = json.nextLong();
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        if (result.text != null) {
+            result.text = keyword + result.text;
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the first line of an error message; stack traces stay in the detailed report.
+     */
+    private static String firstLine(String message) {
+        if (message == null) {
+            return null;
+        }
+        int end = message.indexOf('\n');
+        String line = (end >= 0 ? message.substring(0, end) : message).trim();
+        return line.length() > MAX_ERROR_LENGTH ? line.substring(0, MAX_ERROR_LENGTH) + "..." : line;
+    }
+
+    private static String nextStringOrNull(JsonReader json) throws IOException {
+        if (json.peek() == JsonToken.NULL) {
+            json.nextNull();
+            return null;
+        }
+        return json.nextString();
+    }
+
+    private static class Scenario {
+        private String type;
+        private String name;
+        private String startTimestamp;
+        private String errorMessage;
+        private final List<String> tags = new ArrayList<>();
+        private boolean passed = true;
+        private long durationNanos;
+    }
+
+    private static class Result {
+        private String text;
+        private String location;
+        private String status;
+        private String errorMessage;
+        private long durationNanos;
+    }
+}
@@ -0,0 +1,68 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CucumberJsonStreamParser
+ */
+public class CucumberJsonStreamParserTest {
+
+    @Test
+    public void testParseCountsScenariosPerFeatureAndTag() throws IOException {
+        ReportStatistics stats = new ReportStatistics();
+        CucumberJsonStreamParser.parse(new StringReader(createReport("Inventory", "@Smoke")), stats);
+
+        assertEquals(2, stats.getTotalScenarios());
+        assertEquals(1, stats.getPassedScenarios());
+        assertEquals(1, stats.getFailedScenarios());
+        assertEquals(3_500_000L, stats.getDurationNanos(), "Durations of steps and hooks should be summed");
+        assertEquals(2, stats.getFeatures().get("Inventory").getTotal());
+        assertEquals(1, stats.getTags().get("@Smoke").getFailed());
+        assertFalse(stats.getTags().containsKey("@background"), "Backgrounds should not be counted");
+        assertEquals(2_000_000L, stats.getSlowestScenarios().get(0).getDurationNanos(), "Slowest scenario should come first");
+        assertEquals(3, stats.getSteps().get("InventorySteps.buy(int)").getDistribution().getCount(),
+                "Steps should be grouped by step definition");
+    }
+
+    @Test
+    public void testMergeCombinesStatisticsOfSeparateReports() throws IOException {
+        ReportStatistics first = new ReportStatistics();
+        ReportStatistics second = new ReportStatistics();
+        CucumberJsonStreamParser.parse(new StringReader(createReport("Inventory", "@Smoke")), first);
+        CucumberJsonStreamParser.parse(new StringReader(createReport("Reports", "@Smoke")), second);
+
+        ReportStatistics merged = first.merge(second);
+
+        assertEquals(4, merged.getTotalScenarios());
+        assertEquals(2, merged.getFeatures().size());
+        assertEquals(4, merged.getTags().get("@Smoke").getTotal());
+        assertEquals(7_000_000L, merged.getDurationNanos());
+    }
+
+    /**
+     * Creates a report whose feature name follows its elements, with a background,
+     * a passing scenario and a failing scenario carrying an embedding
+     */
+    private String createReport(String feature, String tag) {
+        return "[{\"elements\": [" +
+               "  {\"type\": \"background\", \"tags\": [{\"name\": \"@background\"}]," +
+               "   \"steps\": [{\"result\": {\"status\": \"passed\", \"duration\": 100}}]}," +
+               "  {\"name\": \"Passing\", \"tags\": [{\"name\": \"" + tag + "\"}]," +
+               "   \"before\": [{\"result\": {\"status\": \"passed\", \"duration\": 500000}}]," +
+               "   \"steps\": [{\"name\": \"I buy 1\", \"match\": {\"location\": \"InventorySteps.buy(int)\"}," +
+               "                \"result\": {\"status\": \"passed\", \"duration\": 500000}}," +
+               "               {\"name\": \"I buy 2\", \"match\": {\"location\": \"InventorySteps.buy(int)\"}," +
+               "                \"result\": {\"status\": \"passed\", \"duration\": 500000}}]," +
+               "   \"type\": \"scenario\"}," +
+               "  {\"type\": \"scenario\", \"tags\": [{\"name\": \"" + tag + "\"}]," +
+               "   \"steps\": [{\"name\": \"I buy 3\", \"match\": {\"location\": \"InventorySteps.buy(int)\"}," +
+               "                \"result\": {\"status\": \"failed\", \"duration\": 2000000, \"error_message\": null}," +
+               "                \"embeddings\": [{\"data\": \"e30=\", \"mime_type\": \"application/json\"}]}]}" +
+               "], \"name\": \"" + feature + "\", \"uri\": \"classpath:features/test.feature\", \"tags\": []}]";
+    }
+}
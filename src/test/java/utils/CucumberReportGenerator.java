@@ -6,8 +6,7 @@ import net.masterthought.cucumber.presentation.PresentationMode;
 import net.masterthought.cucumber.sorting.SortingMethod;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -23,23 +22,44 @@ public class CucumberReportGenerator {
      * @param projectName Name of the project to display in the report
      */
     public static void generateDetailedReport(String jsonDir, String outputDir, String projectName) {
-        File reportOutputDirectory = new File(outputDir);
-        List<String> jsonFiles = findJsonFiles(jsonDir);
+        List<String> jsonFiles = ReportPipeline.findJsonFiles(jsonDir);
         
         if (jsonFiles.isEmpty()) {
             System.out.println("No JSON report files found in " + jsonDir);
             return;
         }
 
+        generateDetailedReport(jsonFiles, outputDir, projectName);
+    }
+
+    /**
+     * Generates detailed Cucumber reports from the given JSON files.
+     *
+     * @param jsonFiles Paths of the JSON report files
+     * @param outputDir Directory where the generated reports will be saved
+     * @param projectName Name of the project to display in the report
+     */
+    public static void generateDetailedReport(List<String> jsonFiles, String outputDir, String projectName) {
+        File reportOutputDirectory = new File(outputDir);
+
+        // Skip regeneration when the inputs are the ones the existing report was built from
+        ReportCache cache = ReportCache.load(ReportCache.DETAILED_CACHE_FILE);
+        File overview = new File(reportOutputDirectory, "cucumber-html-reports/overview-features.html");
+        if (overview.isFile() && cache.isUnchanged(jsonFiles)) {
+            System.out.println("Detailed Cucumber reports are up to date at: " + outputDir);
+            return;
+        }
+
         Configuration configuration = new Configuration(reportOutputDirectory, projectName);
         
         // Optional customization
         configuration.setSortingMethod(SortingMethod.NATURAL);
         configuration.addPresentationModes(PresentationMode.EXPAND_ALL_STEPS);
-        configuration.setTrendsStatsFile(new File("target/cucumber-trends.json"));
+        // Keep trends with the performance history so they survive mvn clean
+        configuration.setTrendsStatsFile(new File(ConfigManager.getPerfHistoryDir(), "cucumber-trends.json"));
         
         // Add build information
-        configuration.setBuildNumber(System.getProperty("build.number", "1"));
+        configuration.setBuildNumber(ConfigManager.getBuildNumber());
         
         // Add system information
         configuration.addClassifications("Platform", System.getProperty("os.name"));
@@ -48,34 +68,14 @@ public class CucumberReportGenerator {
 
         ReportBuilder reportBuilder = new ReportBuilder(jsonFiles, configuration);
         reportBuilder.generateReports();
-        
-        System.out.println("Detailed Cucumber reports generated at: " + outputDir);
-    }
 
-    /**
-     * Finds all JSON files in the specified directory.
-     * 
-     * @param directoryPath Path to the directory containing JSON files
-     * @return List of paths to JSON files
-     */
-    private static List<String> findJsonFiles(String directoryPath) {
-        File directory = new File(directoryPath);
-        
-        if (!directory.exists() || !directory.isDirectory()) {
-            return Collections.emptyList();
+        try {
+            cache.recordInputs(jsonFiles);
+            cache.save();
+        } catch (IOException e) {
+            System.err.println("Error updating report cache: " + e.getMessage());
         }
         
-        List<String> jsonFiles = new ArrayList<>();
-        File[] files = directory.listFiles();
-        
-        if (files != null) {
-            for (File file : files) {
-                if (file.isFile() && file.getName().endsWith(".json")) {
-                    jsonFiles.add(file.getAbsolutePath());
-                }
-            }
-        }
-        
-        return jsonFiles;
+        System.out.println("Detailed Cucumber reports generated at: " + outputDir);
     }
-}
\ No newline at end of file
+}
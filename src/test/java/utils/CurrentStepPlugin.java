@@ -0,0 +1,39 @@
+package utils;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tracks the step running on each thread, so that HTTP calls can be attributed
+ * to the step that made them.
+ * <p>
+ * Concurrent event listeners receive step events on the thread that runs the step, which is also
+ * the thread making the step's HTTP calls.
+ */
+public class CurrentStepPlugin implements ConcurrentEventListener {
+    private static final ThreadLocal<String> currentStep = new ThreadLocal<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, event -> currentStep.remove());
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            currentStep.set(event.getTestStep().getCodeLocation());
+        }
+    }
+
+    /**
+     * Gets the step running on the current thread.
+     *
+     * @return the location of the step definition, as written to the JSON report, or null outside a step
+     */
+    public static String getCurrentStep() {
+        return currentStep.get();
+    }
+}
@@ -0,0 +1,87 @@
+package utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * RestAssured filter that keeps the last HTTP exchanges of the current thread in a bounded ring buffer.
+ * <p>
+ * Nothing is printed while the scenario runs; {@link stepDefinitions.Hooks} attaches the buffer to the
+ * report only when the scenario fails. Bodies are truncated so the buffer stays small.
+ */
+public class ExchangeCaptureFilter implements Filter {
+    private static final int MAX_BODY_LENGTH = 8192;
+
+    private static final ThreadLocal<Deque<String>> exchanges = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        StringBuilder exchange = new StringBuilder()
+                .append(requestSpec.getMethod()).append(' ').append(requestSpec.getURI()).append('\n');
+        for (Header header : requestSpec.getHeaders()) {
+            String value = "Authorization".equalsIgnoreCase(header.getName()) ? "<redacted>" : header.getValue();
+            exchange.append(header.getName()).append(": ").append(value).append('\n');
+        }
+        appendBody(exchange, bodyAsString(requestSpec.getBody()));
+        exchange.append("--> ").append(response.getStatusLine()).append(" (").append(elapsedMillis).append(" ms)\n");
+        appendBody(exchange, response.getBody().asString());
+
+        Deque<String> buffer = exchanges.get();
+        if (buffer.size() >= ConfigManager.getLogBufferSize()) {
+            buffer.removeFirst();
+        }
+        buffer.addLast(exchange.toString());
+        return response;
+    }
+
+    /**
+     * Removes and returns the exchanges captured on the current thread, oldest first.
+     *
+     * @return the captured exchanges as text, or an empty string if there are none
+     */
+    public static String drain() {
+        Deque<String> buffer = exchanges.get();
+        String captured = String.join("\n", buffer);
+        buffer.clear();
+        return captured;
+    }
+
+    /**
+     * Discards the exchanges captured on the current thread.
+     */
+    public static void clear() {
+        exchanges.get().clear();
+    }
+
+    private static String bodyAsString(Object body) {
+        if (body == null) {
+            return null;
+        }
+        return body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    private static void appendBody(StringBuilder exchange, String body) {
+        if (body == null || body.isEmpty()) {
+            return;
+        }
+        if (body.length() > MAX_BODY_LENGTH) {
+            exchange.append(body, 0, MAX_BODY_LENGTH).append("... (").append(body.length()).append(" chars)\n");
+        } else {
+            exchange.append(body).append('\n');
+        }
+    }
+}
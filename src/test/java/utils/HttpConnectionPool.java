@@ -0,0 +1,108 @@
+package utils;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared pool of keep-alive HTTP connections used by every RestAssured request specification.
+ * <p>
+ * RestAssured 4.3.3 only accepts an {@code AbstractHttpClient}, which cannot be built on
+ * {@code PoolingHttpClientConnectionManager}, so the pool uses the equivalent
+ * {@link PoolingClientConnectionManager} from the same httpclient artifact. Expired and idle
+ * connections are evicted in the background.
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private static final PoolingClientConnectionManager connectionManager = createConnectionManager();
+    private static final DefaultHttpClient httpClient = createHttpClient();
+
+    static {
+        long idleTimeout = ConfigManager.getPoolIdleTimeout();
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the RestAssured client configuration backed by the shared connection pool.
+     *
+     * @return the HTTP client configuration
+     */
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, ConfigManager.getConnectTimeout())
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, ConfigManager.getReadTimeout());
+    }
+
+    /**
+     * Raises the connection limits, if needed, so that a number of requests can be sent to one host at once.
+     * Limits are never lowered.
+     *
+     * @param connections the number of concurrent connections to allow per host
+     */
+    public static synchronized void ensureCapacity(int connections) {
+        if (connectionManager.getDefaultMaxPerRoute() < connections) {
+            connectionManager.setDefaultMaxPerRoute(connections);
+        }
+        if (connectionManager.getMaxTotal() < connections) {
+            connectionManager.setMaxTotal(connections);
+        }
+    }
+
+    /**
+     * Gets the current pool statistics.
+     *
+     * @return the leased, available, pending and maximum connection counts
+     */
+    public static PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault());
+        manager.setMaxTotal(ConfigManager.getPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(ConfigManager.getPoolMaxPerRoute());
+        return manager;
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, ConfigManager.getConnectTimeout());
+        HttpConnectionParams.setSoTimeout(params, ConfigManager.getReadTimeout());
+
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager, params);
+        client.setKeepAliveStrategy(keepAliveStrategy(ConfigManager.getPoolKeepAlive()));
+        return client;
+    }
+
+    /**
+     * Honours the server's Keep-Alive header, capped at the configured keep-alive duration.
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAlive) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? Math.min(keepAlive, maxKeepAlive) : maxKeepAlive;
+        };
+    }
+}
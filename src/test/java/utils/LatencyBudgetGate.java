@@ -0,0 +1,140 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Build step that fails when an endpoint is slower than its latency budget.
+ * <p>
+ * Budgets are read from a file with one line per budget, such as {@code POST /inventory/buy p95 < 800},
+ * and compared with the latencies in the run metrics. It runs in the {@code verify} phase through
+ * {@code exec-maven-plugin}, so a performance regression breaks the build like a failing scenario.
+ */
+public class LatencyBudgetGate {
+    public static final String BUDGETS_FILE = "src/test/resources/config/latency-budgets.conf";
+
+    private static final Pattern BUDGET = Pattern.compile(
+            "^(\\S+\\s+\\S+)\\s+(p50|p90|p95|p99|max|mean)\\s*<\\s*(\\d+(?:\\.\\d+)?)\\s*(?:ms)?$");
+
+    /**
+     * Checks the budgets.
+     *
+     * @param args the budgets file and the metrics file, defaulting to {@link #BUDGETS_FILE} and
+     *             {@link RunMetrics#METRICS_FILE}
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String budgetsFile = args.length > 0 ? args[0] : BUDGETS_FILE;
+        String metricsFile = args.length > 1 ? args[1] : RunMetrics.METRICS_FILE;
+        check(budgetsFile, metricsFile);
+    }
+
+    /**
+     * Checks the budgets against the metrics of a run.
+     *
+     * @param budgetsFile the budgets file
+     * @param metricsFile the run metrics written by {@link RunMetrics}
+     * @return the number of budgets checked
+     * @throws IOException           if a file cannot be read
+     * @throws IllegalStateException if a budget is exceeded
+     */
+    public static int check(String budgetsFile, String metricsFile) throws IOException {
+        RunMetrics.Snapshot metrics = RunMetrics.read(metricsFile);
+        if (metrics == null) {
+            System.out.println("No run metrics at " + metricsFile + "; latency budgets not checked");
+            return 0;
+        }
+
+        List<String> rows = new ArrayList<>();
+        int checked = 0;
+        int exceeded = 0;
+        for (Budget budget : readBudgets(Paths.get(budgetsFile))) {
+            RunMetrics.EndpointLatency latency = metrics.getEndpoints().get(budget.endpoint);
+            if (latency == null) {
+                continue;
+            }
+            checked++;
+            double measured = budget.measure(latency);
+            boolean over = measured >= budget.limitMillis;
+            if (over) {
+                exceeded++;
+            }
+            rows.add(String.format(Locale.ROOT, "%s %-32s %-4s %9.1f ms %s %7.0f ms %s",
+                    over ? "-" : " ", budget.endpoint, budget.percentile, measured, over ? ">=" : "< ",
+                    budget.limitMillis, over ? String.format(Locale.ROOT, "(+%.0f%%)",
+                            (measured - budget.limitMillis) / budget.limitMillis * 100) : ""));
+        }
+
+        String report = String.join("\n", rows);
+        if (exceeded > 0) {
+            throw new IllegalStateException(String.format("%d of %d latency budgets exceeded (%s):%n%s",
+                    exceeded, checked, budgetsFile, report));
+        }
+        System.out.println(String.format("All %d latency budgets met (%s)", checked, budgetsFile));
+        if (!report.isEmpty()) {
+            System.out.println(report);
+        }
+        return checked;
+    }
+
+    private static List<Budget> readBudgets(Path file) throws IOException {
+        List<Budget> budgets = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Matcher matcher = BUDGET.matcher(line);
+                if (!matcher.matches()) {
+                    throw new IllegalArgumentException(file + ":" + number + ": expected '<METHOD> <path> <percentile> < <ms>' but was: " + line);
+                }
+                String[] endpoint = matcher.group(1).split("\\s+");
+                budgets.add(new Budget(endpoint[0].toUpperCase(Locale.ROOT) + " " + endpoint[1], matcher.group(2),
+                        Double.parseDouble(matcher.group(3))));
+            }
+        }
+        return budgets;
+    }
+
+    private static class Budget {
+        private final String endpoint;
+        private final String percentile;
+        private final double limitMillis;
+
+        Budget(String endpoint, String percentile, double limitMillis) {
+            this.endpoint = endpoint;
+            this.percentile = percentile;
+            this.limitMillis = limitMillis;
+        }
+
+        double measure(RunMetrics.EndpointLatency latency) {
+            switch (percentile) {
+                case "p50":
+                    return latency.getP50();
+                case "p90":
+                    return latency.getP90();
+                case "p95":
+                    return latency.getP95();
+                case "p99":
+                    return latency.getP99();
+                case "max":
+                    return latency.getMax();
+                default:
+                    return latency.getMean();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LatencyBudgetGate
+ */
+public class LatencyBudgetGateTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testExceededBudgetFailsWithDiff() throws IOException {
+        Path budgets = tempDir.resolve("budgets.conf");
+        Path metrics = tempDir.resolve("run-metrics.json");
+        Files.writeString(budgets, "# comment\nPOST /inventory/buy p95 < 800\nGET /products/{id} p99 < 500ms\nGET /unused p95 < 1\n");
+        Files.writeString(metrics, "{\"endpoints\": {" +
+                "\"POST /inventory/buy\": {\"count\": 10, \"p95\": 912.3}," +
+                "\"GET /products/{id}\": {\"count\": 10, \"p99\": 120.0}}}");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> LatencyBudgetGate.check(budgets.toString(), metrics.toString()));
+
+        assertTrue(error.getMessage().startsWith("1 of 2 latency budgets exceeded"), error.getMessage());
+        assertTrue(error.getMessage().contains("POST /inventory/buy"), "Diff should name the endpoint");
+        assertTrue(error.getMessage().contains("912.3 ms >=     800 ms (+14%)"), error.getMessage());
+    }
+
+    @Test
+    public void testMissingMetricsSkipsGate() throws IOException {
+        Path budgets = tempDir.resolve("budgets.conf");
+        Files.writeString(budgets, "POST /inventory/buy p95 < 800\n");
+
+        assertEquals(0, LatencyBudgetGate.check(budgets.toString(), tempDir.resolve("missing.json").toString()));
+    }
+}
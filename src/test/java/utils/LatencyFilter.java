@@ -0,0 +1,69 @@
+package utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.regex.Pattern;
+
+/**
+ * RestAssured filter that times every call per endpoint into {@link RunMetrics}.
+ * <p>
+ * Endpoints are keyed by method and templated path, e.g. {@code GET /products/{id}}, so calls for
+ * different entities share one histogram. The filter comes first in the chain, so the time of a
+ * call includes any retries. Calls made while {@link CurrentStepPlugin} tracks a step are also
+ * attributed to that step.
+ */
+public class LatencyFilter implements Filter {
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{24}|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27}");
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            String endpoint = endpoint(requestSpec.getMethod(), requestSpec.getDerivedPath());
+            RunMetrics.recordLatency(endpoint, nanos);
+            String step = CurrentStepPlugin.getCurrentStep();
+            if (step != null) {
+                RunMetrics.recordStepEndpoint(step, endpoint, nanos);
+            }
+        }
+    }
+
+    /**
+     * Builds the endpoint key of a call, replacing entity identifiers in the path with placeholders.
+     * A segment is an identifier when it follows a collection ({@code users} or {@code products}) or
+     * has the shape of one: numeric, a 24-digit hex ObjectId or a UUID.
+     *
+     * @param method the HTTP method
+     * @param path   the request path
+     * @return the endpoint key, such as {@code GET /products/{id}}
+     */
+    public static String endpoint(String method, String path) {
+        String[] segments = path.split("\\?", 2)[0].split("/");
+        StringBuilder template = new StringBuilder(method).append(' ');
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].isEmpty()) {
+                continue;
+            }
+            String previous = i > 0 ? segments[i - 1] : "";
+            template.append('/');
+            if (previous.equals("users")) {
+                template.append("{username}");
+            } else if (previous.equals("products") || ID_SEGMENT.matcher(segments[i]).matches()) {
+                template.append("{id}");
+            } else {
+                template.append(segments[i]);
+            }
+        }
+        return template.length() == method.length() + 1 ? template.append('/').toString() : template.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500, histogram.getPercentileMillis(50), 500 * 0.04, "p50 should be about 500 ms");
+        assertEquals(990, histogram.getPercentileMillis(99), 990 * 0.04, "p99 should be about 990 ms");
+        assertEquals(1000, histogram.getMaxMillis(), 0.001, "Max should be exact");
+        assertEquals(500.5, histogram.getMeanMillis(), 0.001, "Mean should be exact");
+    }
+
+    @Test
+    public void testMergeCombinesRecordedValues() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        fast.record(10_000);
+        slow.record(2_000_000_000L);
+
+        fast.merge(slow);
+
+        assertEquals(2, fast.getCount());
+        assertEquals(2000, fast.getMaxMillis(), 0.001);
+        assertEquals(2000, fast.getPercentileMillis(100), 2000 * 0.04);
+    }
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMillis(99));
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cucumber plugin that records per-step latencies while scenarios are replayed as load.
+ * <p>
+ * Steps are grouped by their step definition pattern, so the same step with different arguments
+ * shares one histogram. Statistics accumulate across all Cucumber runs in the same JVM until reset.
+ * Throughput is measured over the window from the first scenario start to the last scenario finish,
+ * so work outside the scenarios, such as hooks run once per Cucumber run, is not counted.
+ */
+public class LoadStatisticsPlugin implements ConcurrentEventListener {
+    private static final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private static final LongAdder failedScenarios = new LongAdder();
+    private static final AtomicLong firstStartMillis = new AtomicLong(Long.MAX_VALUE);
+    private static final AtomicLong lastFinishMillis = new AtomicLong(Long.MIN_VALUE);
+    private static volatile LatencyHistogram scenarios = new LatencyHistogram();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        firstStartMillis.accumulateAndGet(event.getInstant().toEpochMilli(), Math::min);
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            String pattern = ((PickleStepTestStep) event.getTestStep()).getPattern();
+            if (pattern == null) {
+                // Undefined steps have no step definition
+                return;
+            }
+            steps.computeIfAbsent(pattern, key -> new LatencyHistogram())
+                    .record(event.getResult().getDuration().toNanos());
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        lastFinishMillis.accumulateAndGet(event.getInstant().toEpochMilli(), Math::max);
+        scenarios.record(event.getResult().getDuration().toNanos());
+        if (event.getResult().getStatus() != Status.PASSED) {
+            failedScenarios.increment();
+        }
+    }
+
+    /**
+     * Gets the latency histogram of each step pattern.
+     *
+     * @return histograms keyed by step pattern, sorted by pattern
+     */
+    public static Map<String, LatencyHistogram> getStepHistograms() {
+        return new TreeMap<>(steps);
+    }
+
+    public static LatencyHistogram getScenarioHistogram() {
+        return scenarios;
+    }
+
+    public static long getFailedScenarios() {
+        return failedScenarios.sum();
+    }
+
+    /**
+     * Gets the time from the first scenario start to the last scenario finish.
+     *
+     * @return the elapsed time in seconds, or 0 if no scenario has finished
+     */
+    public static double getElapsedSeconds() {
+        long elapsed = lastFinishMillis.get() - firstStartMillis.get();
+        return elapsed > 0 ? elapsed / 1000.0 : 0;
+    }
+
+    /**
+     * Discards the statistics recorded so far, such as those of warm-up scenarios.
+     * Must not be called while scenarios are running.
+     */
+    public static void reset() {
+        steps.clear();
+        scenarios = new LatencyHistogram();
+        failedScenarios.reset();
+        firstStartMillis.set(Long.MAX_VALUE);
+        lastFinishMillis.set(Long.MIN_VALUE);
+    }
+}
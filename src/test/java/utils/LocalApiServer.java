@@ -0,0 +1,485 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dwp.model.Product;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the Inventory Management System API.
+ * <p>
+ * Serves {@code /auth/login}, {@code /products} CRUD, {@code /inventory/buy} and {@code /inventory/sell},
+ * and the {@code /api/reports/*}, {@code /api/users} and {@code /api/products} endpoints from thread-safe
+ * in-memory state, so the suite can run offline and be load tested. It is selected with
+ * {@code -Denvironment=local}, and can also be started on its own with {@link #main(String[])}.
+ * <p>
+ * Buying takes units out of stock and is rejected when the stock is insufficient; selling puts units
+ * back. Product writes and inventory operations require a bearer token from {@code /auth/login}.
+ */
+public class LocalApiServer {
+    private static final long TOKEN_LIFETIME_SECONDS = 3600;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static LocalApiServer instance;
+
+    private final HttpServer server;
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Queue<Map<String, Object>> movements = new ConcurrentLinkedQueue<>();
+
+    private LocalApiServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 256);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-api-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Gets the shared server, starting it on {@code api.local.port} on first use.
+     *
+     * @return the running server
+     */
+    public static synchronized LocalApiServer getInstance() {
+        if (instance == null) {
+            try {
+                instance = new LocalApiServer(ConfigManager.getLocalPort());
+                // The dispatcher thread inherits the daemon flag of the starting thread, so the embedded server never keeps the JVM alive
+                Thread starter = new Thread(instance.server::start, "local-api-server-starter");
+                starter.setDaemon(true);
+                starter.start();
+                starter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while starting local API server", e);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start local API server: " + e.getMessage(), e);
+            }
+            System.out.println("Local API server started at " + instance.getBaseUrl());
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the base URL of the server.
+     *
+     * @return the base URL
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Starts a standalone server for load testing.
+     *
+     * @param args optional port, defaults to {@code api.local.port}
+     */
+    public static void main(String[] args) throws IOException {
+        LocalApiServer standalone = new LocalApiServer(args.length > 0 ? Integer.parseInt(args[0]) : ConfigManager.getLocalPort());
+        standalone.server.start();
+        System.out.println("Local API server listening at " + standalone.getBaseUrl());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            JsonNode body = readBody(exchange);
+
+            if (path.length == 2 && path[0].equals("auth") && path[1].equals("login") && method.equals("POST")) {
+                login(exchange, body);
+            } else if (path[0].equals("products")) {
+                handleProducts(exchange, method, path, body);
+            } else if (path.length == 2 && path[0].equals("inventory") && method.equals("POST")) {
+                handleInventory(exchange, path[1], body);
+            } else if (path.length >= 2 && path[0].equals("api") && path[1].equals("reports") && method.equals("GET")) {
+                handleReports(exchange, path.length > 2 ? path[2] : "");
+            } else if (path.length >= 2 && path[0].equals("api") && path[1].equals("users")) {
+                handleUsers(exchange, method, path.length > 2 ? path[2] : null, body);
+            } else if (path.length == 2 && path[0].equals("api") && path[1].equals("products") && method.equals("POST")) {
+                addStockItem(exchange, body);
+            } else {
+                sendError(exchange, 404, "Not found");
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, e.getMessage());
+        }
+    }
+
+    private void login(HttpExchange exchange, JsonNode body) throws IOException {
+        String username = text(body, "username");
+        String password = text(body, "password");
+        if (username == null || username.isEmpty() || password == null || password.isEmpty()) {
+            sendError(exchange, 400, "Username and password are required");
+            return;
+        }
+        boolean knownUser = ConfigManager.getCredentialPool().contains(username) || username.equals(ConfigManager.getUsername());
+        if (!knownUser || !password.equals(ConfigManager.getPassword())) {
+            sendError(exchange, 401, "Invalid username or password");
+            return;
+        }
+
+        long expiresAt = System.currentTimeMillis() / 1000 + TOKEN_LIFETIME_SECONDS;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(("{\"sub\":\"" + username + "\",\"exp\":" + expiresAt + "}").getBytes(StandardCharsets.UTF_8))
+                + "." + UUID.randomUUID();
+        tokens.put(token, expiresAt);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("token", token);
+        response.put("message", "Login successful");
+        response.put("userId", "id-" + username);
+        response.put("username", username);
+        response.put("role", "user");
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleProducts(HttpExchange exchange, String method, String[] path, JsonNode body) throws IOException {
+        String id = path.length > 1 ? path[1] : null;
+        if (!method.equals("GET") && !isAuthorized(exchange)) {
+            sendError(exchange, 401, "Unauthorized");
+            return;
+        }
+
+        if (id == null && method.equals("GET")) {
+            sendJson(exchange, 200, new ArrayList<>(products.values()));
+        } else if (id == null && method.equals("POST")) {
+            List<String> errors = validate(body);
+            if (!errors.isEmpty()) {
+                sendValidationError(exchange, errors);
+                return;
+            }
+            Product product = toProduct(UUID.randomUUID().toString(), body);
+            products.put(product.getId(), product);
+            recordMovement(product.getId(), "addition", product.getQuantity());
+            sendJson(exchange, 201, product);
+        } else if (id != null && method.equals("GET")) {
+            Product product = products.get(id);
+            if (product == null) {
+                sendError(exchange, 404, "Product not found");
+            } else {
+                sendJson(exchange, 200, product);
+            }
+        } else if (id != null && method.equals("PUT")) {
+            List<String> errors = validate(body);
+            if (!errors.isEmpty()) {
+                sendValidationError(exchange, errors);
+                return;
+            }
+            Product updated = products.computeIfPresent(id, (key, existing) -> toProduct(key, body));
+            if (updated == null) {
+                sendError(exchange, 404, "Product not found");
+            } else {
+                sendJson(exchange, 200, updated);
+            }
+        } else if (id != null && method.equals("DELETE")) {
+            Product removed = products.remove(id);
+            if (removed == null) {
+                sendError(exchange, 404, "Product not found");
+            } else {
+                recordMovement(id, "removal", removed.getQuantity());
+                sendJson(exchange, 200, Map.of("message", "Product deleted successfully"));
+            }
+        } else {
+            sendError(exchange, 405, "Method not allowed");
+        }
+    }
+
+    private void handleInventory(HttpExchange exchange, String operation, JsonNode body) throws IOException {
+        if (!isAuthorized(exchange)) {
+            sendError(exchange, 401, "Unauthorized");
+            return;
+        }
+        boolean buy = operation.equals("buy");
+        if (!buy && !operation.equals("sell")) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+
+        String productId = text(body, "productId");
+        int quantity = body != null && body.hasNonNull("quantity") ? body.get("quantity").asInt() : 0;
+        if (quantity <= 0) {
+            sendError(exchange, 400, "Quantity must be greater than zero");
+            return;
+        }
+
+        // The stock check and update happen atomically per product
+        boolean[] insufficient = new boolean[1];
+        Product updated = productId == null ? null : products.computeIfPresent(productId, (key, product) -> {
+            int newQuantity = buy ? product.getQuantity() - quantity : product.getQuantity() + quantity;
+            if (newQuantity < 0) {
+                insufficient[0] = true;
+                return product;
+            }
+            return new Product(key, product.getName(), product.getDescription(), product.getPrice(), newQuantity);
+        });
+
+        if (updated == null) {
+            sendError(exchange, 404, "Product not found");
+        } else if (insufficient[0]) {
+            sendError(exchange, 400, "Insufficient stock: only " + updated.getQuantity() + " units available");
+        } else {
+            recordMovement(productId, buy ? "removal" : "addition", quantity);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("message", buy ? "Purchase successful" : "Sale successful");
+            response.put("product", updated);
+            response.put("success", true);
+            sendJson(exchange, 200, response);
+        }
+    }
+
+    private void handleReports(HttpExchange exchange, String report) throws IOException {
+        Map<String, String> query = queryParams(exchange);
+        Map<String, Object> response = new LinkedHashMap<>();
+
+        switch (report) {
+            case "summary":
+                response.put("totalProducts", products.size());
+                response.put("totalValue", products.values().stream().mapToDouble(p -> p.getPrice() * p.getQuantity()).sum());
+                break;
+            case "low-stock":
+                int threshold = Integer.parseInt(query.getOrDefault("threshold", "10"));
+                List<Map<String, Object>> lowStock = new ArrayList<>();
+                for (Product product : products.values()) {
+                    if (product.getQuantity() < threshold) {
+                        lowStock.add(stockItem(product));
+                    }
+                }
+                response.put("threshold", threshold);
+                response.put("products", lowStock);
+                break;
+            case "movement":
+                String since = LocalDate.now().minusDays(Integer.parseInt(query.getOrDefault("days", "7"))).toString();
+                List<Map<String, Object>> additions = new ArrayList<>();
+                List<Map<String, Object>> removals = new ArrayList<>();
+                for (Map<String, Object> movement : movements) {
+                    if (((String) movement.get("date")).compareTo(since) >= 0) {
+                        ("addition".equals(movement.get("type")) ? additions : removals).add(movement);
+                    }
+                }
+                response.put("additions", additions);
+                response.put("removals", removals);
+                break;
+            case "export":
+                StringBuilder csv = new StringBuilder("id,name,stock,price\n");
+                for (Product product : products.values()) {
+                    csv.append(product.getId()).append(',').append(product.getName()).append(',')
+                            .append(product.getQuantity()).append(',').append(product.getPrice()).append('\n');
+                }
+                send(exchange, 200, "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+                return;
+            case "date-range":
+                String startDate = query.getOrDefault("startDate", "0000-01-01");
+                String endDate = query.getOrDefault("endDate", "9999-12-31");
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (Map<String, Object> movement : movements) {
+                    String date = (String) movement.get("date");
+                    if (date.compareTo(startDate) >= 0 && date.compareTo(endDate) <= 0) {
+                        items.add(movement);
+                    }
+                }
+                response.put("startDate", startDate);
+                response.put("endDate", endDate);
+                response.put("items", items);
+                break;
+            default:
+                sendError(exchange, 404, "Report not found");
+                return;
+        }
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleUsers(HttpExchange exchange, String method, String username, JsonNode body) throws IOException {
+        if (username == null && method.equals("POST")) {
+            String newUsername = text(body, "username");
+            if (newUsername == null || newUsername.isEmpty()) {
+                sendError(exchange, 400, "Username is required");
+                return;
+            }
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("username", newUsername);
+            user.put("email", text(body, "email"));
+            user.put("role", text(body, "role"));
+            if (users.putIfAbsent(newUsername, user) != null) {
+                sendError(exchange, 409, "User already exists");
+            } else {
+                sendJson(exchange, 201, user);
+            }
+        } else if (username != null && method.equals("GET")) {
+            Map<String, Object> user = users.get(username);
+            if (user == null) {
+                sendError(exchange, 404, "User not found");
+            } else {
+                sendJson(exchange, 200, user);
+            }
+        } else if (username != null && method.equals("PUT")) {
+            if (body == null) {
+                sendError(exchange, 400, "Request body is required");
+                return;
+            }
+            Map<String, Object> updated = users.computeIfPresent(username, (key, existing) -> {
+                Map<String, Object> user = new LinkedHashMap<>(existing);
+                body.fields().forEachRemaining(field -> {
+                    if (!field.getKey().equals("username") && !field.getKey().equals("password")) {
+                        user.put(field.getKey(), field.getValue().asText());
+                    }
+                });
+                return user;
+            });
+            if (updated == null) {
+                sendError(exchange, 404, "User not found");
+            } else {
+                sendJson(exchange, 200, updated);
+            }
+        } else if (username != null && method.equals("DELETE")) {
+            if (users.remove(username) == null) {
+                sendError(exchange, 404, "User not found");
+            } else {
+                sendJson(exchange, 200, Map.of("message", "User deleted successfully"));
+            }
+        } else {
+            sendError(exchange, 405, "Method not allowed");
+        }
+    }
+
+    private void addStockItem(HttpExchange exchange, JsonNode body) throws IOException {
+        String name = text(body, "name");
+        if (name == null || name.isEmpty()) {
+            sendError(exchange, 400, "Name is required");
+            return;
+        }
+        int stock = body.hasNonNull("stock") ? body.get("stock").asInt() : 0;
+        Product product = new Product(UUID.randomUUID().toString(), name, null, 0, stock);
+        products.put(product.getId(), product);
+        recordMovement(product.getId(), "addition", stock);
+        sendJson(exchange, 201, stockItem(product));
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        Long expiresAt = tokens.get(authorization.substring("Bearer ".length()));
+        return expiresAt != null && expiresAt > System.currentTimeMillis() / 1000;
+    }
+
+    private static List<String> validate(JsonNode body) {
+        List<String> errors = new ArrayList<>();
+        if (body == null) {
+            errors.add("Request body is required");
+            return errors;
+        }
+        String name = text(body, "name");
+        if (name == null || name.trim().isEmpty()) {
+            errors.add("Name is required");
+        }
+        if (body.hasNonNull("price") && body.get("price").asDouble() < 0) {
+            errors.add("Price must not be negative");
+        }
+        if (body.hasNonNull("quantity") && body.get("quantity").asInt() < 0) {
+            errors.add("Quantity must not be negative");
+        }
+        return errors;
+    }
+
+    private static Product toProduct(String id, JsonNode body) {
+        return new Product(id, text(body, "name"), text(body, "description"),
+                body.hasNonNull("price") ? body.get("price").asDouble() : 0,
+                body.hasNonNull("quantity") ? body.get("quantity").asInt() : 0);
+    }
+
+    private static Map<String, Object> stockItem(Product product) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", product.getId());
+        item.put("name", product.getName());
+        item.put("stock", product.getQuantity());
+        return item;
+    }
+
+    private void recordMovement(String productId, String type, int quantity) {
+        Map<String, Object> movement = new LinkedHashMap<>();
+        movement.put("productId", productId);
+        movement.put("type", type);
+        movement.put("quantity", quantity);
+        movement.put("date", LocalDate.now().toString());
+        movements.add(movement);
+    }
+
+    private static String text(JsonNode body, String field) {
+        return body != null && body.hasNonNull(field) ? body.get(field).asText() : null;
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] bytes = input.readAllBytes();
+            return bytes.length == 0 ? null : mapper.readTree(bytes);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                String[] parts = pair.split("=", 2);
+                params.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                        parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return params;
+    }
+
+    private static void sendValidationError(HttpExchange exchange, List<String> errors) throws IOException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "Validation failed");
+        response.put("errors", errors);
+        sendJson(exchange, 400, response);
+    }
+
+    private static void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("error", statusCode >= 500 ? "Internal Server Error" : "Request failed");
+        response.put("message", message);
+        sendJson(exchange, statusCode, response);
+    }
+
+    private static void sendJson(HttpExchange exchange, int statusCode, Object body) throws IOException {
+        send(exchange, statusCode, "application/json", mapper.writeValueAsBytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Append-only history of the performance of each build, one JSON line per run, kept outside
+ * {@code target/} so that it survives {@code mvn clean}.
+ * <p>
+ * Each line holds a unique run id, the build number, the p50/p95/p99 latency of every endpoint and the
+ * mean duration of every scenario. The build number is only a label: runs without an explicit
+ * {@code -Dmaven.build.number} share the pom default, so they are told apart by their id. A run is
+ * compared with the last {@code perf.history.window} runs before it is appended: a value is a
+ * regression when it exceeds the baseline mean by more than {@code perf.regression.threshold} and by
+ * more than {@value #Z_SCORE} standard deviations, so that noisy values are not flagged.
+ */
+public class PerformanceHistory {
+    public static final String HISTORY_FILE_NAME = "history.jsonl";
+
+    private static final double Z_SCORE = 2.0;
+    private static final Gson gson = new Gson();
+
+    private final File file;
+
+    private PerformanceHistory(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the history in the configured directory.
+     *
+     * @return the history
+     */
+    public static PerformanceHistory open() {
+        return new PerformanceHistory(new File(ConfigManager.getPerfHistoryDir(), HISTORY_FILE_NAME));
+    }
+
+    /**
+     * Opens the history stored in a file.
+     *
+     * @param path the history file
+     * @return the history
+     */
+    public static PerformanceHistory open(String path) {
+        return new PerformanceHistory(new File(path));
+    }
+
+    /**
+     * Appends a run to the history.
+     *
+     * @param build    the build number
+     * @param snapshot the metrics of the run
+     * @throws IOException if the history cannot be written
+     */
+    public void append(String build, RunMetrics.Snapshot snapshot) throws IOException {
+        Run run = new Run();
+        run.id = UUID.randomUUID().toString();
+        run.build = build;
+        run.timestamp = System.currentTimeMillis();
+        snapshot.getEndpoints().forEach((endpoint, latency) ->
+                run.endpoints.put(endpoint, new double[] {latency.getP50(), latency.getP95(), latency.getP99()}));
+        snapshot.getScenarios().forEach((scenario, duration) -> run.scenarios.put(scenario, duration.getMean()));
+
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(gson.toJson(run));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Reads the most recent runs.
+     *
+     * @param window the maximum number of runs to read
+     * @return the runs, oldest first
+     * @throws IOException if the history cannot be read
+     */
+    public List<Run> readRecent(int window) throws IOException {
+        Deque<String> lines = new ArrayDeque<>(window + 1);
+        if (file.isFile()) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // Only the last lines are parsed
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    lines.addLast(line);
+                    if (lines.size() > window) {
+                        lines.removeFirst();
+                    }
+                }
+            }
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (String line : lines) {
+            try {
+                runs.add(gson.fromJson(line, Run.class));
+            } catch (JsonParseException e) {
+                System.err.println("Skipping unreadable line in " + file + ": " + e.getMessage());
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Compares a run with the recent runs in the history, before it is appended.
+     *
+     * @param snapshot  the metrics of the run
+     * @param window    the number of recent runs forming the baseline
+     * @param threshold the relative increase over the baseline mean that counts as a regression, e.g. 0.2
+     * @param minRuns   the number of runs a value needs in the baseline before it is compared
+     * @return the regressions, endpoints first
+     * @throws IOException if the history cannot be read
+     */
+    public List<Regression> findRegressions(RunMetrics.Snapshot snapshot, int window,
+                                            double threshold, int minRuns) throws IOException {
+        List<Run> baseline = readRecent(window);
+        List<Regression> regressions = new ArrayList<>();
+        snapshot.getEndpoints().forEach((endpoint, latency) -> compare("endpoint", endpoint + " p95", latency.getP95(),
+                baseline, run -> {
+                    double[] percentiles = run.endpoints.get(endpoint);
+                    return percentiles != null ? percentiles[1] : null;
+                }, threshold, minRuns, regressions));
+        snapshot.getScenarios().forEach((scenario, duration) -> compare("scenario", scenario, duration.getMean(),
+                baseline, run -> run.scenarios.get(scenario), threshold, minRuns, regressions));
+        return regressions;
+    }
+
+    private static void compare(String kind, String name, double current, List<Run> baseline,
+                                Function<Run, Double> value, double threshold, int minRuns,
+                                List<Regression> regressions) {
+        List<Double> values = new ArrayList<>();
+        for (Run run : baseline) {
+            Double previous = value.apply(run);
+            if (previous != null) {
+                values.add(previous);
+            }
+        }
+        if (values.size() < minRuns) {
+            return;
+        }
+
+        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double variance = values.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum() / values.size();
+        double stdDev = Math.sqrt(variance);
+
+        if (current > mean * (1 + threshold) && current > mean + Z_SCORE * stdDev) {
+            regressions.add(new Regression(kind, name, mean, current, values.size()));
+        }
+    }
+
+    /**
+     * One line of the history.
+     */
+    public static class Run {
+        private String id;
+        private String build;
+        private long timestamp;
+        /**
+         * p50, p95 and p99 latency in milliseconds, keyed by endpoint.
+         */
+        private final Map<String, double[]> endpoints = new TreeMap<>();
+        /**
+         * Mean duration in milliseconds, keyed by scenario.
+         */
+        private final Map<String, Double> scenarios = new TreeMap<>();
+
+        public String getId() {
+            return id;
+        }
+
+        public String getBuild() {
+            return build;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    /**
+     * An endpoint latency or scenario duration that is slower than its baseline.
+     */
+    public static class Regression {
+        private final String kind;
+        private final String name;
+        private final double baselineMillis;
+        private final double currentMillis;
+        private final int baselineRuns;
+
+        public Regression(String kind, String name, double baselineMillis, double currentMillis, int baselineRuns) {
+            this.kind = kind;
+            this.name = name;
+            this.baselineMillis = baselineMillis;
+            this.currentMillis = currentMillis;
+            this.baselineRuns = baselineRuns;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getBaselineMillis() {
+            return baselineMillis;
+        }
+
+        public double getCurrentMillis() {
+            return currentMillis;
+        }
+
+        public int getBaselineRuns() {
+            return baselineRuns;
+        }
+
+        /**
+         * @return the increase over the baseline, in percent
+         */
+        public double getIncreasePercent() {
+            return baselineMillis > 0 ? (currentMillis - baselineMillis) / baselineMillis * 100 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s: %.1f ms vs %.1f ms over %d runs (+%.0f%%)",
+                    kind, name, currentMillis, baselineMillis, baselineRuns, getIncreasePercent());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PerformanceHistory
+ */
+public class PerformanceHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFindRegressionsAgainstRecentRuns() throws IOException {
+        PerformanceHistory history = PerformanceHistory.open(tempDir.resolve("history.jsonl").toString());
+        history.append("1", snapshot(100, 1000));
+        history.append("2", snapshot(110, 1020));
+        history.append("3", snapshot(90, 980));
+
+        List<PerformanceHistory.Regression> regressions = history.findRegressions(snapshot(200, 1050), 10, 0.2, 3);
+
+        assertEquals(1, regressions.size(), "Only the endpoint doubled; the scenario is within the threshold");
+        assertEquals("GET /products/{id} p95", regressions.get(0).getName());
+        assertEquals(100.0, regressions.get(0).getBaselineMillis(), 0.001);
+        assertEquals(3, regressions.get(0).getBaselineRuns());
+    }
+
+    @Test
+    public void testRunsSharingABuildNumberFormTheBaseline() throws IOException {
+        PerformanceHistory history = PerformanceHistory.open(tempDir.resolve("history.jsonl").toString());
+        history.append("1.0", snapshot(100, 1000));
+        history.append("1.0", snapshot(100, 1000));
+        history.append("1.0", snapshot(100, 1000));
+
+        List<PerformanceHistory.Run> runs = history.readRecent(10);
+        assertEquals(3, runs.size(), "Runs with the default build number should all be kept");
+        assertNotEquals(runs.get(0).getId(), runs.get(1).getId(), "Each run should have its own id");
+        assertEquals(2, history.readRecent(2).size(), "Only the last window runs should be read");
+        assertFalse(history.findRegressions(snapshot(300, 1000), 10, 0.2, 3).isEmpty());
+    }
+
+    private RunMetrics.Snapshot snapshot(double p95Millis, double scenarioMillis) {
+        return new Gson().fromJson("{\"endpoints\": {\"GET /products/{id}\": {\"count\": 5, \"p50\": 50, \"p95\": "
+                + p95Millis + ", \"p99\": " + p95Millis + "}}, \"scenarios\": {\"inventory.feature: Buy\": {\"count\": 1, \"mean\": "
+                + scenarioMillis + "}}}", RunMetrics.Snapshot.class);
+    }
+}
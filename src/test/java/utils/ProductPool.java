@@ -0,0 +1,206 @@
+package utils;
+
+import io.restassured.response.Response;
+import org.dwp.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pool of pre-provisioned products leased exclusively to the scenario running on each thread.
+ * <p>
+ * The first lease creates {@code fixture.pool.size} products concurrently, so later scenarios get a
+ * product without waiting for a create request. A lease only updates the stock when the scenario needs
+ * a quantity other than the current one. On release the product is restored to its default state in
+ * the background and returned to the pool; products the scenario deleted are dropped. At the end of a
+ * run the pool is drained so its products can be deleted. Background requests are sent with the client
+ * selected by {@code api.client.backend}.
+ */
+public class ProductPool {
+    public static final String NAME_PREFIX = "Test Product ";
+    public static final int DEFAULT_QUANTITY = 100;
+
+    private static final Queue<Product> idle = new ConcurrentLinkedQueue<>();
+    private static final Queue<CompletableFuture<?>> resets = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<List<Product>> leased = ThreadLocal.withInitial(ArrayList::new);
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            ConfigManager.getFixturePoolConcurrency(), runnable -> {
+                Thread thread = new Thread(runnable, "product-pool");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static CompletableFuture<Void> provisioning;
+
+    /**
+     * Leases a product to the current thread, creating the pool on first use.
+     *
+     * @param quantity the stock the product must have
+     * @return a copy of the leased product
+     */
+    public static Product lease(int quantity) {
+        String token = RestAssuredClient.getAuthToken();
+        provision(token).join();
+
+        Product product = idle.poll();
+        if (product == null) {
+            product = create(token, quantity);
+            RunMetrics.increment("fixture.products.created");
+        } else {
+            if (product.getQuantity() != quantity) {
+                product.setQuantity(quantity);
+                product = update(token, product);
+            }
+            RunMetrics.increment("fixture.products.reused");
+        }
+
+        leased.get().add(product);
+        return copy(product);
+    }
+
+    /**
+     * Drops a leased product that the scenario deleted, so it is not returned to the pool.
+     *
+     * @param productId the id of the deleted product
+     */
+    public static void discard(String productId) {
+        leased.get().removeIf(product -> product.getId().equals(productId));
+    }
+
+    /**
+     * Restores the products leased to the current thread in the background and returns them to the pool.
+     * If the thread is no longer authenticated, the products are deleted with {@link ResourceCleaner} instead.
+     */
+    public static void release() {
+        List<Product> products = leased.get();
+        leased.remove();
+        String token = RestAssuredClient.getAuthToken();
+        if (token == null) {
+            List<String> paths = new ArrayList<>();
+            for (Product product : products) {
+                paths.add("/products/" + product.getId());
+            }
+            ResourceCleaner.delete(null, paths);
+            return;
+        }
+
+        for (Product product : products) {
+            Product reset = new Product(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), DEFAULT_QUANTITY);
+            resets.add(sendInBackground(token, "PUT", "/products/" + reset.getId(), reset, 200)
+                    .whenComplete((restored, error) -> {
+                        if (error != null) {
+                            System.err.println("Dropping product fixture " + reset.getId() + ": " + error.getMessage());
+                        } else {
+                            idle.add(restored);
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * Empties the pool once the pending restores have finished, so the next run provisions a new one.
+     *
+     * @return the paths of the products that were in the pool
+     */
+    public static synchronized List<String> drain() {
+        CompletableFuture<?> reset;
+        while ((reset = resets.poll()) != null) {
+            reset.handle((restored, error) -> null).join();
+        }
+        if (provisioning != null) {
+            provisioning.join();
+            provisioning = null;
+        }
+
+        List<String> paths = new ArrayList<>();
+        Product product;
+        while ((product = idle.poll()) != null) {
+            paths.add("/products/" + product.getId());
+        }
+        return paths;
+    }
+
+    /**
+     * Starts creating the pool once, returning the batch every caller waits for.
+     */
+    private static synchronized CompletableFuture<Void> provision(String token) {
+        if (provisioning == null) {
+            int size = ConfigManager.getFixturePoolSize();
+            CompletableFuture<?>[] creates = new CompletableFuture<?>[size];
+            for (int i = 0; i < size; i++) {
+                creates[i] = sendInBackground(token, "POST", "/products", newProduct(DEFAULT_QUANTITY), 201)
+                        .handle((product, error) -> {
+                            if (error != null) {
+                                System.err.println("Product fixture creation failed: " + error.getMessage());
+                            } else {
+                                idle.add(product);
+                                RunMetrics.increment("fixture.products.created");
+                            }
+                            return null;
+                        });
+            }
+            provisioning = CompletableFuture.allOf(creates);
+        }
+        return provisioning;
+    }
+
+    private static Product newProduct(int quantity) {
+        return Product.builder()
+                .name(NAME_PREFIX + UUID.randomUUID().toString().substring(0, 8))
+                .description("Test product description")
+                .price(19.99)
+                .quantity(quantity)
+                .build();
+    }
+
+    private static Product create(String token, int quantity) {
+        return send(token, "POST", "/products", newProduct(quantity), 201);
+    }
+
+    private static Product update(String token, Product product) {
+        return send(token, "PUT", "/products/" + product.getId(), product, 200);
+    }
+
+    private static Product send(String token, String method, String path, Product product, int expectedStatus) {
+        Response response = RestAssuredClient.getAuthenticatedRequestSpec(token)
+                .body(product)
+                .when()
+                .request(method, path);
+        checkStatus(method, path, response.getStatusCode(), expectedStatus);
+        return response.as(Product.class);
+    }
+
+    /**
+     * Sends a request off the calling thread, on the async client when it is the selected backend.
+     */
+    private static CompletableFuture<Product> sendInBackground(String token, String method, String path,
+                                                               Product product, int expectedStatus) {
+        if (ConfigManager.isAsyncClientBackend()) {
+            return AsyncApiClient.getAuthenticatedRequestSpec(token)
+                    .body(product)
+                    .request(method, path)
+                    .thenApply(response -> {
+                        checkStatus(method, path, response.getStatusCode(), expectedStatus);
+                        return response.as(Product.class);
+                    });
+        }
+        return CompletableFuture.supplyAsync(() -> send(token, method, path, product, expectedStatus), executor);
+    }
+
+    private static void checkStatus(String method, String path, int statusCode, int expectedStatus) {
+        if (statusCode != expectedStatus) {
+            throw new IllegalStateException("Product fixture " + method + " " + path + " returned status " + statusCode);
+        }
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getQuantity());
+    }
+}
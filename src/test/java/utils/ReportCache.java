@@ -0,0 +1,238 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk record of the report JSON files seen by a previous report generation, and optionally the
+ * statistics computed from each of them.
+ * <p>
+ * A file counts as unchanged when its path and size match the recorded entry and either its
+ * modification time or, failing that, the SHA-256 of its content does too. The content is only
+ * hashed when the modification time differs, so checking unchanged inputs costs a {@code stat} per file.
+ */
+public class ReportCache {
+    public static final String SUMMARY_CACHE_FILE = "target/report-cache/summary-statistics.json";
+    public static final String DETAILED_CACHE_FILE = "target/report-cache/detailed-report.json";
+
+    /**
+     * Version of the cached data; entries written with another version are ignored.
+     */
+    private static final int VERSION = 3;
+
+    private static final Gson gson = new Gson();
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    private ReportCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads a cache, starting empty when the file does not exist or cannot be read.
+     *
+     * @param path the cache file
+     * @return the cache
+     */
+    public static ReportCache load(String path) {
+        ReportCache cache = new ReportCache(new File(path));
+        if (cache.file.isFile()) {
+            try (Reader reader = Files.newBufferedReader(cache.file.toPath(), StandardCharsets.UTF_8)) {
+                Stored stored = gson.fromJson(reader, Stored.class);
+                if (stored != null && stored.version == VERSION && stored.entries != null) {
+                    cache.entries.putAll(stored.entries);
+                }
+            } catch (IOException | JsonParseException e) {
+                System.err.println("Ignoring unreadable report cache " + path + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the statistics cached for a report file.
+     *
+     * @param jsonFile the report file
+     * @return a copy of the cached statistics, or null if the file changed or was never cached
+     */
+    public ReportStatistics getStatistics(File jsonFile) {
+        String path = jsonFile.getAbsolutePath();
+        Entry entry = entries.get(path);
+        if (entry == null || entry.statistics == null || !isUnchanged(jsonFile, entry)) {
+            return null;
+        }
+        used.add(path);
+        return new ReportStatistics().merge(entry.statistics);
+    }
+
+    /**
+     * Caches the statistics of a report file.
+     *
+     * @param jsonFile     the report file
+     * @param size         the size of the file when it was parsed
+     * @param lastModified the modification time of the file when it was parsed
+     * @param sha256       the hash of the parsed content
+     * @param statistics   the statistics computed from the file
+     */
+    public void putStatistics(File jsonFile, long size, long lastModified, String sha256, ReportStatistics statistics) {
+        String path = jsonFile.getAbsolutePath();
+        entries.put(path, new Entry(size, lastModified, sha256, statistics));
+        used.add(path);
+    }
+
+    /**
+     * Checks whether exactly the given report files were recorded and none of them changed since.
+     *
+     * @param jsonFiles paths of the report files
+     * @return true if the inputs are the same as when they were recorded
+     */
+    public boolean isUnchanged(Collection<String> jsonFiles) {
+        if (jsonFiles.size() != entries.size()) {
+            return false;
+        }
+        for (String jsonFile : jsonFiles) {
+            File input = new File(jsonFile);
+            Entry entry = entries.get(input.getAbsolutePath());
+            if (entry == null || !isUnchanged(input, entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the given report files as the complete set of inputs, replacing earlier entries.
+     *
+     * @param jsonFiles paths of the report files
+     * @throws IOException if a changed file cannot be hashed
+     */
+    public void recordInputs(Collection<String> jsonFiles) throws IOException {
+        Map<String, Entry> recorded = new ConcurrentHashMap<>();
+        for (String jsonFile : jsonFiles) {
+            File input = new File(jsonFile);
+            String path = input.getAbsolutePath();
+            Entry entry = entries.get(path);
+            if (entry == null || !isUnchanged(input, entry)) {
+                entry = new Entry(input.length(), input.lastModified(), sha256(input), null);
+            }
+            recorded.put(path, entry);
+        }
+        entries.clear();
+        entries.putAll(recorded);
+        used.clear();
+        used.addAll(recorded.keySet());
+    }
+
+    /**
+     * Writes the entries used since the cache was loaded, dropping those of files that are gone.
+     *
+     * @throws IOException if the cache file cannot be written
+     */
+    public void save() throws IOException {
+        Stored stored = new Stored();
+        stored.version = VERSION;
+        for (String path : used) {
+            stored.entries.put(path, entries.get(path));
+        }
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(stored, writer);
+        }
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return a new digest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Formats a digest as lowercase hex.
+     *
+     * @param digest the digest bytes
+     * @return the hex string
+     */
+    public static String toHex(byte[] digest) {
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static String sha256(File input) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(input.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static boolean isUnchanged(File input, Entry entry) {
+        if (!input.isFile() || input.length() != entry.size) {
+            return false;
+        }
+        long lastModified = input.lastModified();
+        if (lastModified == entry.lastModified) {
+            return true;
+        }
+        try {
+            // Touched but possibly not modified, e.g. a shard copied again by CI
+            if (sha256(input).equals(entry.sha256)) {
+                entry.lastModified = lastModified;
+                return true;
+            }
+        } catch (IOException e) {
+            System.err.println("Error hashing " + input + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static class Stored {
+        private int version;
+        private Map<String, Entry> entries = new ConcurrentHashMap<>();
+    }
+
+    private static class Entry {
+        private long size;
+        private long lastModified;
+        private String sha256;
+        private ReportStatistics statistics;
+
+        Entry(long size, long lastModified, String sha256, ReportStatistics statistics) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.sha256 = sha256;
+            this.statistics = statistics;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReportCache
+ */
+public class ReportCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCachedStatisticsSurviveReloadUntilFileChanges() throws IOException {
+        String cacheFile = tempDir.resolve("cache.json").toString();
+        File jsonFile = writeReport("passed");
+
+        ReportStatistics stats = new ReportStatistics();
+        String sha256 = CucumberJsonStreamParser.parseAndHash(jsonFile, stats);
+        ReportCache cache = ReportCache.load(cacheFile);
+        cache.putStatistics(jsonFile, jsonFile.length(), jsonFile.lastModified(), sha256, stats);
+        cache.save();
+
+        ReportStatistics cached = ReportCache.load(cacheFile).getStatistics(jsonFile);
+        assertNotNull(cached, "Unchanged file should be served from the cache");
+        assertEquals(1, cached.getPassedScenarios());
+        assertEquals(1, cached.getFeatures().get("Inventory").getTotal());
+
+        // Same size, different content and modification time
+        writeReport("failed");
+        assertTrue(jsonFile.setLastModified(jsonFile.lastModified() + 5000));
+        assertNull(ReportCache.load(cacheFile).getStatistics(jsonFile), "Changed file should not be served from the cache");
+    }
+
+    @Test
+    public void testRecordedInputsAreUnchangedWhenOnlyTouched() throws IOException {
+        String cacheFile = tempDir.resolve("cache.json").toString();
+        File jsonFile = writeReport("passed");
+        List<String> inputs = Collections.singletonList(jsonFile.getPath());
+
+        ReportCache cache = ReportCache.load(cacheFile);
+        assertFalse(cache.isUnchanged(inputs), "Inputs should not be unchanged before they are recorded");
+        cache.recordInputs(inputs);
+        cache.save();
+
+        assertTrue(jsonFile.setLastModified(jsonFile.lastModified() + 5000));
+        assertTrue(ReportCache.load(cacheFile).isUnchanged(inputs), "Touched file with the same content should be unchanged");
+        assertFalse(ReportCache.load(cacheFile).isUnchanged(Collections.emptyList()), "A removed input should be a change");
+    }
+
+    private File writeReport(String status) throws IOException {
+        Path jsonFile = tempDir.resolve("cucumber.json");
+        Files.writeString(jsonFile, "[{\"name\": \"Inventory\", \"elements\": [{\"type\": \"scenario\"," +
+                " \"steps\": [{\"result\": {\"status\": \"" + status + "\", \"duration\": 10}}]}]}]");
+        return jsonFile.toFile();
+    }
+}
@@ -0,0 +1,76 @@
+package utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Post-run report stage that discovers the Cucumber JSON reports once and feeds the same inputs to
+ * both the detailed Masterthought report and the summary report.
+ */
+public class ReportPipeline {
+
+    /**
+     * Generates the detailed and summary reports from the JSON files under a directory.
+     *
+     * @param jsonDir Directory containing the JSON report files, searched recursively
+     * @param detailedReportDir Directory where the detailed reports will be saved
+     * @param projectName Name of the project to display in the detailed report
+     * @param summaryFile Path where the summary HTML report will be saved
+     */
+    public static void generateReports(String jsonDir, String detailedReportDir, String projectName, String summaryFile) {
+        List<String> jsonFiles = findJsonFiles(jsonDir);
+
+        if (jsonFiles.isEmpty()) {
+            System.out.println("No JSON report files found in " + jsonDir);
+            return;
+        }
+
+        // Collect the summary statistics while Masterthought builds the detailed report
+        CompletableFuture<ReportStatistics> statistics =
+                CompletableFuture.supplyAsync(() -> TestSummaryReportGenerator.collectStatistics(jsonFiles));
+
+        CucumberReportGenerator.generateDetailedReport(jsonFiles, detailedReportDir, projectName);
+        TestSummaryReportGenerator.generateSummaryReport(statistics.join(), detailedReportDir,
+                RunMetrics.METRICS_FILE, summaryFile);
+    }
+
+    /**
+     * Finds all JSON files in the directory and its subdirectories.
+     *
+     * @param directoryPath Path to the directory containing JSON files
+     * @return Absolute paths of the JSON files, sorted
+     */
+    public static List<String> findJsonFiles(String directoryPath) {
+        File directory = new File(directoryPath);
+
+        if (!directory.exists() || !directory.isDirectory()) {
+            return Collections.emptyList();
+        }
+
+        List<String> jsonFiles = new ArrayList<>();
+        findJsonFilesRecursively(directory, jsonFiles);
+        Collections.sort(jsonFiles);
+
+        return jsonFiles;
+    }
+
+    /**
+     * Recursively finds all JSON files in the directory and its subdirectories.
+     */
+    private static void findJsonFilesRecursively(File directory, List<String> jsonFiles) {
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && file.getName().endsWith(".json")) {
+                    jsonFiles.add(file.getAbsolutePath());
+                } else if (file.isDirectory()) {
+                    findJsonFilesRecursively(file, jsonFiles);
+                }
+            }
+        }
+    }
+}
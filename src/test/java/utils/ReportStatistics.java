@@ -0,0 +1,366 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scenario statistics computed from Cucumber JSON reports.
+ * <p>
+ * Statistics of separate report files can be computed independently and combined with
+ * {@link #merge(ReportStatistics)}, so files may be parsed in any order and on any thread.
+ */
+public class ReportStatistics {
+    /**
+     * Number of slowest scenarios kept.
+     */
+    public static final int TOP_N = 10;
+
+    private static final Comparator<ScenarioDuration> SLOWEST_FIRST =
+            Comparator.comparingLong(ScenarioDuration::getDurationNanos).reversed();
+
+    private final Counts totals = new Counts();
+    private final Map<String, Counts> features = new TreeMap<>();
+    private final Map<String, Counts> tags = new TreeMap<>();
+    private final List<FailedScenario> failedScenarios = new ArrayList<>();
+    private final Distribution scenarioDurations = new Distribution();
+    private final List<ScenarioDuration> slowestScenarios = new ArrayList<>();
+    private final Map<String, StepDuration> steps = new TreeMap<>();
+    private long firstStartMillis;
+    private long lastEndMillis;
+
+    /**
+     * Records the outcome of a scenario.
+     *
+     * @param feature       the name of the feature the scenario belongs to
+     * @param scenario      the name of the scenario
+     * @param scenarioTags  the tags of the scenario
+     * @param passed        whether every step of the scenario passed
+     * @param durationNanos the time spent in the scenario's steps and hooks
+     * @param errorMessage  the error of the first step that did not pass, or null
+     */
+    public void addScenario(String feature, String scenario, Collection<String> scenarioTags, boolean passed,
+                            long durationNanos, String errorMessage) {
+        totals.add(passed, durationNanos);
+        if (!passed) {
+            failedScenarios.add(new FailedScenario(feature, scenario, errorMessage));
+        }
+        features.computeIfAbsent(feature, name -> new Counts()).add(passed, durationNanos);
+        for (String tag : scenarioTags) {
+            tags.computeIfAbsent(tag, name -> new Counts()).add(passed, durationNanos);
+        }
+        scenarioDurations.record(durationNanos);
+        addSlowest(Collections.singletonList(new ScenarioDuration(feature, scenario, durationNanos)));
+    }
+
+    /**
+     * Records the duration of a step.
+     *
+     * @param location      the step definition the step matched, or the step text when it matched none
+     * @param text          the step text
+     * @param durationNanos the duration of the step
+     */
+    public void addStep(String location, String text, long durationNanos) {
+        steps.computeIfAbsent(location, key -> new StepDuration(text)).distribution.record(durationNanos);
+    }
+
+    /**
+     * Records when a scenario ran, for the wall time of the run.
+     *
+     * @param startMillis   the start of the scenario, in epoch milliseconds
+     * @param durationNanos the duration of the scenario
+     */
+    public void addTimeSpan(long startMillis, long durationNanos) {
+        long endMillis = startMillis + durationNanos / 1_000_000;
+        firstStartMillis = firstStartMillis == 0 ? startMillis : Math.min(firstStartMillis, startMillis);
+        lastEndMillis = Math.max(lastEndMillis, endMillis);
+    }
+
+    /**
+     * Adds the statistics of another set of reports to these.
+     *
+     * @param other the statistics to add
+     * @return these statistics
+     */
+    public ReportStatistics merge(ReportStatistics other) {
+        totals.merge(other.totals);
+        other.features.forEach((name, counts) -> features.computeIfAbsent(name, key -> new Counts()).merge(counts));
+        other.tags.forEach((name, counts) -> tags.computeIfAbsent(name, key -> new Counts()).merge(counts));
+        failedScenarios.addAll(other.failedScenarios);
+        scenarioDurations.merge(other.scenarioDurations);
+        addSlowest(other.slowestScenarios);
+        other.steps.forEach((location, step) -> steps.computeIfAbsent(location, key -> new StepDuration(step.text))
+                .distribution.merge(step.distribution));
+        if (other.firstStartMillis != 0) {
+            addTimeSpan(other.firstStartMillis, (other.lastEndMillis - other.firstStartMillis) * 1_000_000);
+        }
+        return this;
+    }
+
+    public int getTotalScenarios() {
+        return totals.getTotal();
+    }
+
+    public int getPassedScenarios() {
+        return totals.getPassed();
+    }
+
+    public int getFailedScenarios() {
+        return totals.getFailed();
+    }
+
+    public long getDurationNanos() {
+        return totals.getDurationNanos();
+    }
+
+    /**
+     * @return the time from the start of the first scenario to the end of the last one, or 0 if unknown
+     */
+    public long getWallTimeMillis() {
+        return firstStartMillis == 0 ? 0 : lastEndMillis - firstStartMillis;
+    }
+
+    public Distribution getScenarioDurations() {
+        return scenarioDurations;
+    }
+
+    /**
+     * @return the {@link #TOP_N} slowest scenarios, slowest first
+     */
+    public List<ScenarioDuration> getSlowestScenarios() {
+        return slowestScenarios;
+    }
+
+    /**
+     * @return step durations keyed by step definition location
+     */
+    public Map<String, StepDuration> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the steps with the highest total duration.
+     *
+     * @param limit the number of steps to return
+     * @return step durations keyed by step definition location, slowest first
+     */
+    public List<Map.Entry<String, StepDuration>> getSlowestSteps(int limit) {
+        List<Map.Entry<String, StepDuration>> slowest = new ArrayList<>(steps.entrySet());
+        slowest.sort(Comparator.comparingLong((Map.Entry<String, StepDuration> step) ->
+                step.getValue().getDistribution().getTotalNanos()).reversed());
+        return slowest.subList(0, Math.min(limit, slowest.size()));
+    }
+
+    private void addSlowest(List<ScenarioDuration> scenarios) {
+        slowestScenarios.addAll(scenarios);
+        slowestScenarios.sort(SLOWEST_FIRST);
+        while (slowestScenarios.size() > TOP_N) {
+            slowestScenarios.remove(slowestScenarios.size() - 1);
+        }
+    }
+
+    /**
+     * @return scenario counts keyed by feature name, sorted by name
+     */
+    public Map<String, Counts> getFeatures() {
+        return features;
+    }
+
+    /**
+     * @return scenario counts keyed by tag, sorted by tag
+     */
+    public Map<String, Counts> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return the scenarios that did not pass, in report order
+     */
+    public List<FailedScenario> getFailedScenarioDetails() {
+        return failedScenarios;
+    }
+
+    /**
+     * Scenario counts and total duration of a group of scenarios.
+     */
+    public static class Counts {
+        private int total;
+        private int passed;
+        private int failed;
+        private long durationNanos;
+
+        void add(boolean scenarioPassed, long scenarioDurationNanos) {
+            total++;
+            if (scenarioPassed) {
+                passed++;
+            } else {
+                failed++;
+            }
+            durationNanos += scenarioDurationNanos;
+        }
+
+        void merge(Counts other) {
+            total += other.total;
+            passed += other.passed;
+            failed += other.failed;
+            durationNanos += other.durationNanos;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getPassed() {
+            return passed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /**
+     * A scenario that did not pass.
+     */
+    public static class FailedScenario {
+        private final String feature;
+        private final String scenario;
+        private final String errorMessage;
+
+        public FailedScenario(String feature, String scenario, String errorMessage) {
+            this.feature = feature;
+            this.scenario = scenario;
+            this.errorMessage = errorMessage;
+        }
+
+        public String getFeature() {
+            return feature;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+    }
+
+    /**
+     * Duration of a single scenario.
+     */
+    public static class ScenarioDuration {
+        private final String feature;
+        private final String scenario;
+        private final long durationNanos;
+
+        public ScenarioDuration(String feature, String scenario, long durationNanos) {
+            this.feature = feature;
+            this.scenario = scenario;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getFeature() {
+            return feature;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /**
+     * Duration distribution of the steps matching one step definition.
+     */
+    public static class StepDuration {
+        private final String text;
+        private final Distribution distribution = new Distribution();
+
+        StepDuration(String text) {
+            this.text = text;
+        }
+
+        /**
+         * @return the text of the first step seen for the step definition
+         */
+        public String getText() {
+            return text;
+        }
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+    }
+
+    /**
+     * Duration distribution using the buckets of {@link LatencyHistogram}, stored sparsely so that
+     * it stays small in the report cache.
+     */
+    public static class Distribution {
+        private final Map<Integer, Long> buckets = new TreeMap<>();
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void record(long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets.merge(LatencyHistogram.bucketIndex(value / 1000), 1L, Long::sum);
+            count++;
+            totalNanos += value;
+            maxNanos = Math.max(maxNanos, value);
+        }
+
+        void merge(Distribution other) {
+            other.buckets.forEach((bucket, bucketCount) -> buckets.merge(bucket, bucketCount, Long::sum));
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1e6;
+        }
+
+        /**
+         * Gets the duration at a percentile.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound of the bucket holding the percentile, in milliseconds
+         */
+        public double getPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            // Buckets read back from the cache are not sorted
+            for (Map.Entry<Integer, Long> bucket : new TreeMap<>(buckets).entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    return Math.min(LatencyHistogram.bucketUpperBoundMicros(bucket.getKey()) / 1000.0, getMaxMillis());
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+}
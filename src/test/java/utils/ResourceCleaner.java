@@ -0,0 +1,158 @@
+package utils;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.dwp.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Deletes the entities created by scenarios in the background, so teardown does not add to scenario wall time.
+ * <p>
+ * At most {@code cleanup.concurrency} deletes run at a time, and entities that are already gone count as
+ * deleted. The sweeper finds products left over by earlier runs by name prefix; it also removes products of
+ * other runs sharing the environment, so it is only used when {@code cleanup.sweep.enabled} is set.
+ * With the async backend ({@code api.client.backend}) deletes are sent without occupying a cleaner thread
+ * and are limited by {@code api.async.max.in.flight} instead.
+ */
+public class ResourceCleaner {
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            ConfigManager.getCleanupConcurrency(), runnable -> {
+                Thread thread = new Thread(runnable, "resource-cleaner");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final Queue<CompletableFuture<Void>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Schedules entities for deletion.
+     *
+     * @param token the token to delete them with, or null to authenticate as the configured user
+     * @param paths the paths of the entities, e.g. /products/{id}
+     */
+    public static void delete(String token, Collection<String> paths) {
+        for (String path : paths) {
+            if (ConfigManager.isAsyncClientBackend()) {
+                pending.add(deleteAsync(token, path));
+            } else {
+                pending.add(CompletableFuture.runAsync(() -> deleteNow(token, path), executor));
+            }
+        }
+    }
+
+    /**
+     * Schedules the deletion of every product whose name starts with a prefix.
+     *
+     * @param prefix the name prefix
+     */
+    public static void sweep(String prefix) {
+        pending.add(CompletableFuture.runAsync(() -> {
+            Response response = requestSpec(null).when().get("/products");
+            if (response.getStatusCode() != 200) {
+                System.err.println("Sweeping products returned status " + response.getStatusCode());
+                return;
+            }
+
+            List<String> paths = new ArrayList<>();
+            for (Product product : response.as(Product[].class)) {
+                if (product.getName() != null && product.getName().startsWith(prefix)) {
+                    paths.add("/products/" + product.getId());
+                }
+            }
+            System.out.println("Sweeping " + paths.size() + " products named '" + prefix + "*'");
+            delete(null, paths);
+        }, executor));
+    }
+
+    /**
+     * Waits for the scheduled deletes, including those scheduled while waiting.
+     *
+     * @param timeoutMillis the maximum time to wait
+     */
+    public static void awaitCompletion(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        CompletableFuture<Void> future;
+        while ((future = pending.poll()) != null) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                System.err.println("Cleanup timed out with " + (pending.size() + 1) + " deletes pending");
+                return;
+            } catch (ExecutionException e) {
+                System.err.println("Cleanup failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void deleteNow(String token, String path) {
+        try {
+            recordDelete(path, requestSpec(token).when().delete(path).getStatusCode());
+        } catch (RuntimeException e) {
+            recordFailure(path, e);
+        }
+    }
+
+    private static CompletableFuture<Void> deleteAsync(String token, String path) {
+        try {
+            return AsyncApiClient.getAuthenticatedRequestSpec(token != null ? token : configuredUserToken())
+                    .delete(path)
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            recordFailure(path, error);
+                        } else {
+                            recordDelete(path, response.getStatusCode());
+                        }
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            recordFailure(path, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static void recordDelete(String path, int statusCode) {
+        if (statusCode == 200 || statusCode == 204 || statusCode == 404) {
+            RunMetrics.increment("cleanup.deleted");
+        } else {
+            RunMetrics.increment("cleanup.failed");
+            System.err.println("Deleting " + path + " returned status " + statusCode);
+        }
+    }
+
+    private static void recordFailure(String path, Throwable error) {
+        RunMetrics.increment("cleanup.failed");
+        System.err.println("Deleting " + path + " failed: " + error.getMessage());
+    }
+
+    /**
+     * Gets a token for the configured user through the token cache, logging in with the async client.
+     */
+    private static String configuredUserToken() {
+        return TokenCache.getAuthResponse(ConfigManager.getUsername(), ConfigManager.getPassword(),
+                (username, password) -> AsyncApiClient.authenticate(username, password).join()).getToken();
+    }
+
+    /**
+     * Gets a request specification for the token, or logs the cleaner thread in through the token cache.
+     */
+    private static RequestSpecification requestSpec(String token) {
+        if (token == null) {
+            RestAssuredClient.authenticate(ConfigManager.getUsername(), ConfigManager.getPassword());
+            return RestAssuredClient.getAuthenticatedRequestSpec();
+        }
+        return RestAssuredClient.getAuthenticatedRequestSpec(token);
+    }
+}
@@ -2,6 +2,7 @@ package utils;
 
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
@@ -10,46 +11,106 @@ import io.restassured.specification.RequestSpecification;
 import org.dwp.model.AuthRequest;
 import org.dwp.model.AuthResponse;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utility class for making REST API calls using RestAssured.
+ * <p>
+ * The token is confined to the calling thread, so scenarios running in parallel each
+ * authenticate separately. The base URI is carried by the request specification rather than
+ * the global {@link RestAssured#baseURI}. The specification is built once per base URL and
+ * shared by all threads; requests are built from it without modifying it.
  */
 public class RestAssuredClient {
-    private static String authToken;
-    private static RequestSpecification requestSpec;
+    private static final ThreadLocal<String> authToken = new ThreadLocal<>();
+    private static final Map<String, RequestSpecification> requestSpecs = new ConcurrentHashMap<>();
 
     /**
-     * Initializes the REST client.
+     * Initializes the REST client, unless it has already been initialized for the configured base URL.
      */
     public static void initialize() {
-        RestAssured.baseURI = ConfigManager.getBaseUrl();
-        
-        requestSpec = new RequestSpecBuilder()
+        getRequestSpec();
+    }
+
+    /**
+     * Builds the shared request specification for a base URL. Package-private for the benchmarks.
+     */
+    static RequestSpecification buildRequestSpec(String baseUrl) {
+        long start = System.nanoTime();
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(RestAssuredConfig.config().httpClient(HttpConnectionPool.httpClientConfig()))
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
-                .addFilter(new RequestLoggingFilter())
-                .addFilter(new ResponseLoggingFilter())
-                .build();
+                .addFilter(new LatencyFilter())
+                .addFilter(new CredentialUsageFilter())
+                .addFilter(new ExchangeCaptureFilter());
+        
+        if (ConfigManager.isVerboseLogging()) {
+            builder.addFilter(new RequestLoggingFilter())
+                    .addFilter(new ResponseLoggingFilter());
+        }
+        
+        // Retries re-send the request from this point in the chain, so the retry filter must come last
+        builder.addFilter(new RetryFilter());
+        
+        RequestSpecification spec = builder.build();
+        
+        RunMetrics.increment("client.initializations");
+        RunMetrics.add("client.initialization.micros", (System.nanoTime() - start) / 1000);
+        return spec;
     }
 
     /**
-     * Authenticates with the API and stores the token.
+     * Authenticates with the API and stores the token, reusing a cached token for the user when one is valid.
      *
      * @param username the username
      * @param password the password
      * @return the authentication response
      */
     public static AuthResponse authenticate(String username, String password) {
+        AuthResponse authResponse = TokenCache.getAuthResponse(username, password, RestAssuredClient::login);
+        
+        if (authResponse.getToken() != null) {
+            authToken.set(authResponse.getToken());
+        }
+        
+        return authResponse;
+    }
+
+    /**
+     * Authenticates with the API and stores the token, always sending a login request.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the authentication response
+     */
+    public static AuthResponse authenticateWithoutCache(String username, String password) {
+        AuthResponse authResponse = login(username, password);
+        
+        if (authResponse.getToken() != null) {
+            authToken.set(authResponse.getToken());
+        }
+        
+        return authResponse;
+    }
+
+    /**
+     * Sends a login request without touching the stored token.
+     */
+    private static AuthResponse login(String username, String password) {
         AuthRequest authRequest = new AuthRequest(username, password);
         
-        Response response = RestAssured.given(requestSpec)
+        Response response = RestAssured.given(getRequestSpec())
                 .body(authRequest)
                 .when()
                 .post("/auth/login");
         
         AuthResponse authResponse = response.as(AuthResponse.class);
         
-        if (response.getStatusCode() == 200 && authResponse.getToken() != null) {
-            authToken = authResponse.getToken();
+        if (response.getStatusCode() != 200) {
+            authResponse.setToken(null);
         }
         
         return authResponse;
@@ -61,12 +122,22 @@ public class RestAssuredClient {
      * @return the authenticated request specification
      */
     public static RequestSpecification getAuthenticatedRequestSpec() {
-        if (authToken == null) {
+        return getAuthenticatedRequestSpec(authToken.get());
+    }
+
+    /**
+     * Gets the request specification with a given authentication token, for requests sent from other threads.
+     *
+     * @param token the authentication token
+     * @return the authenticated request specification
+     */
+    public static RequestSpecification getAuthenticatedRequestSpec(String token) {
+        if (token == null) {
             throw new IllegalStateException("Authentication token is not set. Please authenticate first.");
         }
         
-        return RestAssured.given(requestSpec)
-                .header("Authorization", "Bearer " + authToken);
+        return RestAssured.given(getRequestSpec())
+                .header("Authorization", "Bearer " + token);
     }
 
     /**
@@ -75,22 +146,38 @@ public class RestAssuredClient {
      * @return the unauthenticated request specification
      */
     public static RequestSpecification getUnauthenticatedRequestSpec() {
-        return RestAssured.given(requestSpec);
+        return RestAssured.given(getRequestSpec());
     }
 
     /**
-     * Clears the authentication token.
+     * Clears the authentication token of the current thread.
      */
     public static void clearAuthToken() {
-        authToken = null;
+        authToken.remove();
     }
 
     /**
-     * Checks if the client is authenticated.
+     * Gets the authentication token of the current thread.
+     *
+     * @return the token, or null if not authenticated
+     */
+    public static String getAuthToken() {
+        return authToken.get();
+    }
+
+    /**
+     * Checks if the client is authenticated on the current thread.
      *
      * @return true if authenticated, false otherwise
      */
     public static boolean isAuthenticated() {
-        return authToken != null;
+        return authToken.get() != null;
+    }
+
+    /**
+     * Gets the request specification for the configured base URL, building it if needed.
+     */
+    private static RequestSpecification getRequestSpec() {
+        return requestSpecs.computeIfAbsent(ConfigManager.getBaseUrl(), RestAssuredClient::buildRequestSpec);
     }
-}
\ No newline at end of file
+}
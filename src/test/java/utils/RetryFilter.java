@@ -0,0 +1,125 @@
+package utils;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RestAssured filter that retries idempotent calls after transient failures.
+ * <p>
+ * GET requests and {@code POST /auth/login} are retried up to {@code api.retry.max} times on a
+ * 502, 503 or 504 response or an I/O error, waiting {@code api.retry.delay} doubled per attempt
+ * with jitter. Retries stop when the run-wide {@code api.retry.budget} is spent or the
+ * {@link CircuitBreaker} is open. Every retry is counted in {@link RunMetrics} so retried calls
+ * remain visible in the report. The filter chain can only be continued once, so each retry sends a
+ * copy of the request (method, URI, headers and body) without filters. Must be the last filter, so the
+ * copy carries everything earlier filters added.
+ */
+public class RetryFilter implements Filter {
+    private static final Set<Integer> TRANSIENT_STATUS_CODES = Set.of(502, 503, 504);
+    private static final long MAX_DELAY_MILLIS = 30000;
+
+    private static final AtomicInteger retriesLeft = new AtomicInteger(ConfigManager.getRetryBudget());
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean idempotent = isIdempotent(requestSpec);
+        int maxRetries = ConfigManager.getMaxRetries();
+
+        for (int attempt = 0; ; attempt++) {
+            Response response;
+            try {
+                response = attempt == 0 ? ctx.next(requestSpec, responseSpec) : resend(requestSpec);
+            } catch (Exception e) {
+                if (!(rootCause(e) instanceof IOException)) {
+                    throw e;
+                }
+                CircuitBreaker.recordFailure();
+                if (!idempotent || attempt >= maxRetries || !acquireRetry(requestSpec)) {
+                    throw e;
+                }
+                backOff(attempt);
+                continue;
+            }
+
+            if (!TRANSIENT_STATUS_CODES.contains(response.getStatusCode())) {
+                CircuitBreaker.recordSuccess();
+                return response;
+            }
+            CircuitBreaker.recordFailure();
+            if (!idempotent || attempt >= maxRetries || !acquireRetry(requestSpec)) {
+                return response;
+            }
+            backOff(attempt);
+        }
+    }
+
+    /**
+     * Sends a copy of the request outside the filter chain.
+     */
+    private static Response resend(FilterableRequestSpecification requestSpec) {
+        RequestSpecification copy = RestAssured.given()
+                .config(requestSpec.getConfig())
+                .headers(requestSpec.getHeaders());
+        if (requestSpec.getBody() != null) {
+            copy.body((Object) requestSpec.getBody());
+        }
+        return copy.request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    private static boolean isIdempotent(FilterableRequestSpecification requestSpec) {
+        String method = requestSpec.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method)
+                || ("POST".equals(method) && requestSpec.getDerivedPath().endsWith("/auth/login"));
+    }
+
+    /**
+     * Takes a retry from the run-wide budget, unless the circuit is open.
+     */
+    private static boolean acquireRetry(FilterableRequestSpecification requestSpec) {
+        if (CircuitBreaker.isOpen()) {
+            RunMetrics.increment("http.retries.skipped.circuit-open");
+            return false;
+        }
+        if (retriesLeft.getAndDecrement() <= 0) {
+            RunMetrics.increment("http.retries.skipped.budget-exhausted");
+            return false;
+        }
+        RunMetrics.increment("http.retries");
+        RunMetrics.increment("http.retries " + LatencyFilter.endpoint(requestSpec.getMethod(), requestSpec.getDerivedPath()));
+        return true;
+    }
+
+    /**
+     * Sleeps for the exponential backoff of the attempt, with jitter between half and the full delay.
+     */
+    private static void backOff(int attempt) {
+        long delay = Math.min((long) ConfigManager.getRetryDelay() << Math.min(attempt, 20), MAX_DELAY_MILLIS);
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        RunMetrics.add("http.retries.wait.ms", jittered);
+        try {
+            Thread.sleep(jittered);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
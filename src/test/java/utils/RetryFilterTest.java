@@ -0,0 +1,73 @@
+package utils;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RetryFilter
+ */
+public class RetryFilterTest {
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        System.setProperty("api.retry.delay", "10");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            boolean first = hits.incrementAndGet() == 1;
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(first ? 503 : 200, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        System.clearProperty("api.retry.delay");
+    }
+
+    @Test
+    public void testTransientFailureIsRetriedOnce() {
+        Response response = RestAssured.given()
+                .baseUri("http://localhost:" + server.getAddress().getPort())
+                .filter(new RetryFilter())
+                .get("/products");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, hits.get(), "Server should see the original request and one retry");
+    }
+
+    @Test
+    public void testRetryResendsTheRequestBody() {
+        Response response = RestAssured.given()
+                .baseUri("http://localhost:" + server.getAddress().getPort())
+                .contentType("application/json")
+                .filter(new RetryFilter())
+                .body("{\"username\":\"user01\"}")
+                .post("/auth/login");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, hits.get());
+        assertEquals("{\"username\":\"user01\"}", new String(response.asByteArray(), StandardCharsets.UTF_8));
+    }
+}
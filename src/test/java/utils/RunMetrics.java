@@ -0,0 +1,292 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide counters and per-endpoint latencies collected while the scenarios execute and published
+ * in the summary report.
+ * <p>
+ * The metrics are written to {@link #METRICS_FILE} at the end of the run, where
+ * {@link TestSummaryReportGenerator} picks them up.
+ */
+public class RunMetrics {
+    public static final String METRICS_FILE = "target/run-metrics.json";
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> scenarios = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> convergence = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LongAdder[]>> stepEndpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name the counter name
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds a value to a counter.
+     *
+     * @param name  the counter name
+     * @param value the value to add
+     */
+    public static void add(String name, long value) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(value);
+    }
+
+    /**
+     * Gets the current value of a counter.
+     *
+     * @param name the counter name
+     * @return the counter value, or 0 if it was never incremented
+     */
+    public static long get(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Records the latency of a call to an endpoint.
+     *
+     * @param endpoint the endpoint key, such as {@code GET /products/{id}}
+     * @param nanos    the latency in nanoseconds
+     */
+    public static void recordLatency(String endpoint, long nanos) {
+        latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the duration of a scenario.
+     *
+     * @param scenario the scenario key, such as {@code inventory.feature: Buy a product}
+     * @param nanos    the duration in nanoseconds
+     */
+    public static void recordScenario(String scenario, long nanos) {
+        scenarios.computeIfAbsent(scenario, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records how long a read-after-write check took until the write was visible.
+     *
+     * @param check the name of the check
+     * @param nanos the time to convergence in nanoseconds
+     */
+    public static void recordConvergence(String check, long nanos) {
+        convergence.computeIfAbsent(check, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the time a step spent calling an endpoint.
+     *
+     * @param step     the location of the step definition
+     * @param endpoint the endpoint key, such as {@code GET /products/{id}}
+     * @param nanos    the latency in nanoseconds
+     */
+    public static void recordStepEndpoint(String step, String endpoint, long nanos) {
+        LongAdder[] calls = stepEndpoints.computeIfAbsent(step, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(endpoint, key -> new LongAdder[] {new LongAdder(), new LongAdder()});
+        calls[0].increment();
+        calls[1].add(nanos);
+    }
+
+    /**
+     * Takes a snapshot of all metrics.
+     *
+     * @return the snapshot
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        counters.forEach((name, counter) -> snapshot.counters.put(name, counter.sum()));
+        latencies.forEach((endpoint, histogram) -> snapshot.endpoints.put(endpoint, new EndpointLatency(histogram)));
+        scenarios.forEach((scenario, histogram) -> snapshot.scenarios.put(scenario, new EndpointLatency(histogram)));
+        convergence.forEach((check, histogram) -> snapshot.convergence.put(check, new EndpointLatency(histogram)));
+        stepEndpoints.forEach((step, endpoints) -> {
+            Map<String, StepEndpoint> calls = new TreeMap<>();
+            endpoints.forEach((endpoint, adders) -> calls.put(endpoint, new StepEndpoint(adders[0].sum(), adders[1].sum() / 1e6)));
+            snapshot.stepEndpoints.put(step, calls);
+        });
+        return snapshot;
+    }
+
+    /**
+     * Writes a snapshot of all metrics as JSON.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String path) throws IOException {
+        write(path, snapshot());
+    }
+
+    /**
+     * Writes a snapshot as JSON.
+     *
+     * @param path     the file to write
+     * @param snapshot the snapshot to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(String path, Snapshot snapshot) throws IOException {
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(snapshot, writer);
+        }
+    }
+
+    /**
+     * Reads a metrics snapshot written by {@link #write(String)}.
+     *
+     * @param path the file to read
+     * @return the snapshot, or null if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public static Snapshot read(String path) throws IOException {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, Snapshot.class);
+        }
+    }
+
+    /**
+     * Point-in-time copy of the run metrics.
+     */
+    public static class Snapshot {
+        private final Map<String, Long> counters = new TreeMap<>();
+        private final Map<String, EndpointLatency> endpoints = new TreeMap<>();
+        private final Map<String, EndpointLatency> scenarios = new TreeMap<>();
+        private final Map<String, EndpointLatency> convergence = new TreeMap<>();
+        private final Map<String, Map<String, StepEndpoint>> stepEndpoints = new TreeMap<>();
+        private final List<PerformanceHistory.Regression> regressions = new ArrayList<>();
+
+        public Map<String, Long> getCounters() {
+            return counters;
+        }
+
+        public Map<String, EndpointLatency> getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * @return duration percentiles keyed by scenario, in the same form as endpoint latencies
+         */
+        public Map<String, EndpointLatency> getScenarios() {
+            return scenarios;
+        }
+
+        /**
+         * @return time to convergence percentiles keyed by read-after-write check
+         */
+        public Map<String, EndpointLatency> getConvergence() {
+            return convergence;
+        }
+
+        /**
+         * @return the regressions found against the performance history, if it was consulted
+         */
+        public List<PerformanceHistory.Regression> getRegressions() {
+            return regressions;
+        }
+
+        /**
+         * @return the calls made by each step, keyed by step definition location and then by endpoint
+         */
+        public Map<String, Map<String, StepEndpoint>> getStepEndpoints() {
+            return stepEndpoints;
+        }
+    }
+
+    /**
+     * Calls a step made to one endpoint.
+     */
+    public static class StepEndpoint {
+        private long count;
+        private double totalMillis;
+
+        StepEndpoint(long count, double totalMillis) {
+            this.count = count;
+            this.totalMillis = totalMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+    }
+
+    /**
+     * Latency percentiles of one endpoint, in milliseconds.
+     */
+    public static class EndpointLatency {
+        private long count;
+        private double mean;
+        private double p50;
+        private double p90;
+        private double p95;
+        private double p99;
+        private double max;
+
+        EndpointLatency(LatencyHistogram histogram) {
+            count = histogram.getCount();
+            mean = histogram.getMeanMillis();
+            p50 = histogram.getPercentileMillis(50);
+            p90 = histogram.getPercentileMillis(90);
+            p95 = histogram.getPercentileMillis(95);
+            p99 = histogram.getPercentileMillis(99);
+            max = histogram.getMaxMillis();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public double getP95() {
+            return p95;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getMax() {
+            return max;
+        }
+    }
+}
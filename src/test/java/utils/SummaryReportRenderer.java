@@ -0,0 +1,345 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders the summary HTML report from the {@code templates/summary.html} template.
+ * <p>
+ * The template is copied line by line to a buffered UTF-8 writer. {@code ${name}} placeholders are
+ * replaced with values, and lines holding only {@code <!-- section:name -->} are replaced by a
+ * section written straight to the output, so no part of the page is built up in memory.
+ */
+public class SummaryReportRenderer {
+    private static final String TEMPLATE = "templates/summary.html";
+    private static final Pattern SECTION = Pattern.compile("^(\\s*)<!-- section:(\\w+) -->\\s*$");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+
+    private final ReportStatistics stats;
+    private final RunMetrics.Snapshot runMetrics;
+    private final String detailedReportLink;
+
+    private SummaryReportRenderer(ReportStatistics stats, RunMetrics.Snapshot runMetrics, String detailedReportLink) {
+        this.stats = stats;
+        this.runMetrics = runMetrics;
+        this.detailedReportLink = detailedReportLink;
+    }
+
+    /**
+     * Renders the summary report.
+     *
+     * @param stats              statistics of the Cucumber JSON reports
+     * @param runMetrics         metrics of the run, or null if there are none
+     * @param detailedReportLink link to the detailed report, or null if there is none
+     * @param outputFile         path where the report will be saved
+     * @throws IOException if the template cannot be read or the report cannot be written
+     */
+    public static void render(ReportStatistics stats, RunMetrics.Snapshot runMetrics, String detailedReportLink,
+                              String outputFile) throws IOException {
+        File file = new File(outputFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        InputStream template = SummaryReportRenderer.class.getClassLoader().getResourceAsStream(TEMPLATE);
+        if (template == null) {
+            throw new IOException("Template not found on the classpath: " + TEMPLATE);
+        }
+
+        SummaryReportRenderer renderer = new SummaryReportRenderer(stats, runMetrics, detailedReportLink);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(template, StandardCharsets.UTF_8));
+             Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            renderer.render(reader, out);
+        }
+    }
+
+    private void render(BufferedReader template, Writer out) throws IOException {
+        Map<String, String> values = values();
+        String line;
+        while ((line = template.readLine()) != null) {
+            Matcher section = SECTION.matcher(line);
+            if (section.matches()) {
+                writeSection(section.group(2), section.group(1), out);
+                continue;
+            }
+
+            Matcher placeholder = PLACEHOLDER.matcher(line);
+            StringBuffer rendered = new StringBuffer();
+            while (placeholder.find()) {
+                String value = values.getOrDefault(placeholder.group(1), "");
+                placeholder.appendReplacement(rendered, Matcher.quoteReplacement(value));
+            }
+            placeholder.appendTail(rendered);
+            out.write(rendered.toString());
+            out.write('\n');
+        }
+    }
+
+    private Map<String, String> values() {
+        double passPercentage = stats.getTotalScenarios() > 0
+                ? (double) stats.getPassedScenarios() / stats.getTotalScenarios() * 100 : 0;
+
+        Map<String, String> values = new HashMap<>();
+        values.put("totalScenarios", String.valueOf(stats.getTotalScenarios()));
+        values.put("passedScenarios", String.valueOf(stats.getPassedScenarios()));
+        values.put("failedScenarios", String.valueOf(stats.getFailedScenarios()));
+        values.put("passPercentage", format(passPercentage));
+        values.put("duration", seconds(stats.getDurationNanos()));
+        values.put("wallTime", seconds(stats.getWallTimeMillis() * 1_000_000));
+        values.put("scenarioP50", format(stats.getScenarioDurations().getPercentileMillis(50)));
+        values.put("scenarioP90", format(stats.getScenarioDurations().getPercentileMillis(90)));
+        values.put("scenarioP99", format(stats.getScenarioDurations().getPercentileMillis(99)));
+        values.put("scenarioMax", format(stats.getScenarioDurations().getMaxMillis()));
+        return values;
+    }
+
+    private void writeSection(String name, String indent, Writer out) throws IOException {
+        switch (name) {
+            case "links":
+                writeLinks(indent, out);
+                break;
+            case "regressions":
+                writeRegressions(indent, out);
+                break;
+            case "failedScenarios":
+                writeFailedScenarios(indent, out);
+                break;
+            case "features":
+                writeCounts("Features", "Feature", stats.getFeatures(), indent, out);
+                break;
+            case "tags":
+                writeCounts("Tags", "Tag", stats.getTags(), indent, out);
+                break;
+            case "slowestScenarios":
+                writeSlowestScenarios(indent, out);
+                break;
+            case "slowestSteps":
+                writeSlowestSteps(indent, out);
+                break;
+            case "runMetrics":
+                writeRunMetrics(indent, out);
+                break;
+            case "endpointLatency":
+                writeLatencies("Endpoint Latency (ms)", "Endpoint",
+                        runMetrics != null ? runMetrics.getEndpoints() : null, indent, out);
+                break;
+            case "convergence":
+                writeLatencies("Read-After-Write Convergence (ms)", "Check",
+                        runMetrics != null ? runMetrics.getConvergence() : null, indent, out);
+                break;
+            default:
+                throw new IOException("Unknown section in " + TEMPLATE + ": " + name);
+        }
+    }
+
+    private void writeLinks(String indent, Writer out) throws IOException {
+        if (detailedReportLink != null) {
+            line(out, indent, "<a href=\"" + escape(detailedReportLink) + "\" class=\"report-link\">View Detailed Report</a>");
+        }
+        line(out, indent, "<a href=\"cucumber-reports.html\" class=\"report-link\">View Basic Report</a>");
+    }
+
+    private void writeRegressions(String indent, Writer out) throws IOException {
+        if (runMetrics == null || runMetrics.getRegressions().isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>Performance Regressions</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>Endpoint or scenario</th><th class=\"number\">Baseline (ms)</th>"
+                + "<th class=\"number\">This run (ms)</th><th class=\"number\">Increase</th><th class=\"number\">Runs</th></tr>");
+        for (PerformanceHistory.Regression regression : runMetrics.getRegressions()) {
+            line(out, indent, "        <tr class=\"has-failures\"><td>" + escape(regression.getName())
+                    + "</td><td class=\"number\">" + format(regression.getBaselineMillis())
+                    + "</td><td class=\"number\">" + format(regression.getCurrentMillis())
+                    + "</td><td class=\"number\">+" + String.format(Locale.ROOT, "%.0f%%", regression.getIncreasePercent())
+                    + "</td><td class=\"number\">" + regression.getBaselineRuns() + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private void writeFailedScenarios(String indent, Writer out) throws IOException {
+        if (stats.getFailedScenarioDetails().isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>Failed Scenarios</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>Feature</th><th>Scenario</th><th>Error</th></tr>");
+        for (ReportStatistics.FailedScenario failed : stats.getFailedScenarioDetails()) {
+            line(out, indent, "        <tr><td>" + escape(failed.getFeature()) + "</td><td>" + escape(failed.getScenario())
+                    + "</td><td class=\"error\">" + escape(failed.getErrorMessage()) + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private void writeCounts(String title, String column, Map<String, ReportStatistics.Counts> counts,
+                             String indent, Writer out) throws IOException {
+        if (counts.isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>" + title + "</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>" + column + "</th><th class=\"number\">Scenarios</th><th class=\"number\">Passed</th>"
+                + "<th class=\"number\">Failed</th><th class=\"number\">Duration (s)</th></tr>");
+        for (Map.Entry<String, ReportStatistics.Counts> entry : counts.entrySet()) {
+            ReportStatistics.Counts value = entry.getValue();
+            line(out, indent, "        <tr" + (value.getFailed() > 0 ? " class=\"has-failures\"" : "") + "><td>"
+                    + escape(entry.getKey()) + "</td><td class=\"number\">" + value.getTotal()
+                    + "</td><td class=\"number\">" + value.getPassed() + "</td><td class=\"number\">" + value.getFailed()
+                    + "</td><td class=\"number\">" + seconds(value.getDurationNanos()) + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private void writeSlowestScenarios(String indent, Writer out) throws IOException {
+        if (stats.getSlowestScenarios().isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>Slowest Scenarios</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>Feature</th><th>Scenario</th><th class=\"number\">Duration (s)</th></tr>");
+        for (ReportStatistics.ScenarioDuration scenario : stats.getSlowestScenarios()) {
+            line(out, indent, "        <tr><td>" + escape(scenario.getFeature()) + "</td><td>" + escape(scenario.getScenario())
+                    + "</td><td class=\"number\">" + seconds(scenario.getDurationNanos()) + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private void writeSlowestSteps(String indent, Writer out) throws IOException {
+        List<Map.Entry<String, ReportStatistics.StepDuration>> slowest = stats.getSlowestSteps(ReportStatistics.TOP_N);
+        if (slowest.isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>Slowest Steps</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>Step</th><th class=\"number\">Count</th><th class=\"number\">Total (s)</th>"
+                + "<th class=\"number\">p50 (ms)</th><th class=\"number\">p95 (ms)</th><th class=\"number\">Max (ms)</th>"
+                + "<th>Endpoints called</th></tr>");
+        for (Map.Entry<String, ReportStatistics.StepDuration> entry : slowest) {
+            ReportStatistics.Distribution durations = entry.getValue().getDistribution();
+            line(out, indent, "        <tr><td title=\"" + escape(entry.getKey()) + "\">" + escape(entry.getValue().getText())
+                    + "</td><td class=\"number\">" + durations.getCount()
+                    + "</td><td class=\"number\">" + seconds(durations.getTotalNanos())
+                    + "</td><td class=\"number\">" + format(durations.getPercentileMillis(50))
+                    + "</td><td class=\"number\">" + format(durations.getPercentileMillis(95))
+                    + "</td><td class=\"number\">" + format(durations.getMaxMillis())
+                    + "</td><td>" + stepEndpoints(entry.getKey()) + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    /**
+     * Lists the endpoints a step called, the one it spent most time in first.
+     */
+    private String stepEndpoints(String step) {
+        Map<String, RunMetrics.StepEndpoint> calls = runMetrics != null ? runMetrics.getStepEndpoints().get(step) : null;
+        if (calls == null) {
+            return "";
+        }
+        List<Map.Entry<String, RunMetrics.StepEndpoint>> sorted = new ArrayList<>(calls.entrySet());
+        sorted.sort(Comparator.comparingDouble((Map.Entry<String, RunMetrics.StepEndpoint> call) ->
+                call.getValue().getTotalMillis()).reversed());
+        StringBuilder endpoints = new StringBuilder();
+        for (Map.Entry<String, RunMetrics.StepEndpoint> call : sorted) {
+            if (endpoints.length() > 0) {
+                endpoints.append("<br>");
+            }
+            endpoints.append(escape(call.getKey())).append(" &times;").append(call.getValue().getCount())
+                    .append(" (").append(format(call.getValue().getTotalMillis())).append(" ms)");
+        }
+        return endpoints.toString();
+    }
+
+    private void writeRunMetrics(String indent, Writer out) throws IOException {
+        if (runMetrics == null || runMetrics.getCounters().isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>Run Metrics</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>Metric</th><th class=\"number\">Value</th></tr>");
+        for (Map.Entry<String, Long> counter : runMetrics.getCounters().entrySet()) {
+            line(out, indent, "        <tr><td>" + escape(counter.getKey()) + "</td><td class=\"number\">"
+                    + counter.getValue() + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private void writeLatencies(String title, String column, Map<String, RunMetrics.EndpointLatency> latencies,
+                                String indent, Writer out) throws IOException {
+        if (latencies == null || latencies.isEmpty()) {
+            return;
+        }
+        line(out, indent, "<div class=\"summary-card\">");
+        line(out, indent, "    <h2>" + title + "</h2>");
+        line(out, indent, "    <table>");
+        line(out, indent, "        <tr><th>" + column + "</th><th class=\"number\">Count</th><th class=\"number\">p50</th>"
+                + "<th class=\"number\">p90</th><th class=\"number\">p99</th><th class=\"number\">Max</th></tr>");
+        for (Map.Entry<String, RunMetrics.EndpointLatency> entry : latencies.entrySet()) {
+            RunMetrics.EndpointLatency latency = entry.getValue();
+            line(out, indent, "        <tr><td>" + escape(entry.getKey()) + "</td><td class=\"number\">" + latency.getCount()
+                    + "</td><td class=\"number\">" + format(latency.getP50())
+                    + "</td><td class=\"number\">" + format(latency.getP90())
+                    + "</td><td class=\"number\">" + format(latency.getP99())
+                    + "</td><td class=\"number\">" + format(latency.getMax()) + "</td></tr>");
+        }
+        line(out, indent, "    </table>");
+        line(out, indent, "</div>");
+    }
+
+    private static void line(Writer out, String indent, String content) throws IOException {
+        out.write(indent);
+        out.write(content);
+        out.write('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': escaped.append("&lt;"); break;
+                case '>': escaped.append("&gt;"); break;
+                case '&': escaped.append("&amp;"); break;
+                case '"': escaped.append("&quot;"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
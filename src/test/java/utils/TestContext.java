@@ -3,17 +3,26 @@ package utils;
 import io.restassured.response.Response;
 import org.dwp.model.Product;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Context class to share state between step definitions.
+ * <p>
+ * The body of the last response is read once and bound once per target type, however many steps
+ * inspect it. The typed views are shared between steps and must be treated as read-only. Entities the
+ * scenario creates are registered here so they can be deleted when it ends.
  */
 public class TestContext {
     private Response lastResponse;
+    private String lastResponseBody;
+    private final Map<Class<?>, Object> lastResponseViews = new HashMap<>();
     private Product currentProduct;
     private String currentProductId;
     private Map<String, Object> scenarioContext;
+    private final List<String> createdResources = new ArrayList<>();
 
     public TestContext() {
         scenarioContext = new HashMap<>();
@@ -26,6 +35,8 @@ public class TestContext {
      */
     public void setLastResponse(Response response) {
         this.lastResponse = response;
+        this.lastResponseBody = null;
+        this.lastResponseViews.clear();
     }
 
     /**
@@ -37,6 +48,37 @@ public class TestContext {
         return lastResponse;
     }
 
+    /**
+     * Gets the body of the last API response as a string, reading it only once.
+     *
+     * @return the response body, or null if there is no last response
+     */
+    public String getLastResponseBody() {
+        if (lastResponseBody == null && lastResponse != null) {
+            lastResponseBody = lastResponse.getBody().asString();
+        }
+        return lastResponseBody;
+    }
+
+    /**
+     * Gets the body of the last API response bound to a type, binding it only once per type.
+     *
+     * @param type the type to bind the body to
+     * @param <T>  the type
+     * @return the shared typed view of the body, or null if there is no last response
+     */
+    public <T> T getLastResponseAs(Class<T> type) {
+        if (lastResponse == null) {
+            return null;
+        }
+        Object view = lastResponseViews.get(type);
+        if (view == null) {
+            view = lastResponse.as(type);
+            lastResponseViews.put(type, view);
+        }
+        return type.cast(view);
+    }
+
     /**
      * Sets the current product.
      *
@@ -104,6 +146,35 @@ public class TestContext {
         return scenarioContext.get(key);
     }
 
+    /**
+     * Records an entity created by the scenario, so it is deleted when the scenario ends.
+     *
+     * @param path the path of the entity, e.g. /products/{id}
+     */
+    public void registerCreatedResource(String path) {
+        createdResources.add(path);
+    }
+
+    /**
+     * Removes an entity the scenario deleted itself from the created entities.
+     *
+     * @param path the path of the entity
+     */
+    public void unregisterCreatedResource(String path) {
+        createdResources.remove(path);
+    }
+
+    /**
+     * Gets and forgets the entities created by the scenario.
+     *
+     * @return the paths of the created entities
+     */
+    public List<String> drainCreatedResources() {
+        List<String> paths = new ArrayList<>(createdResources);
+        createdResources.clear();
+        return paths;
+    }
+
     /**
      * Clears the scenario context.
      */
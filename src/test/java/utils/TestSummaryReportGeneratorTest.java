@@ -61,6 +61,39 @@ public class TestSummaryReportGeneratorTest {
         assertTrue(content.contains("Passed"), "Report should show passed tests");
         assertTrue(content.contains("Failed"), "Report should show failed tests");
         assertTrue(content.contains("overview-features.html"), "Report should link to detailed report");
+        assertTrue(content.contains("<td>Feature name</td>"), "Report should break results down by feature");
+        assertTrue(content.contains("Failing scenario") && content.contains("Test failed"),
+                "Report should list failed scenarios with their error");
+        assertFalse(content.contains("${"), "Report should not contain unreplaced placeholders");
+    }
+
+    @Test
+    public void testGenerateSummaryReportWithEndpointLatencies() throws IOException {
+        Path jsonDir = tempDir.resolve("json");
+        Path metricsFile = tempDir.resolve("run-metrics.json");
+        Path outputFile = tempDir.resolve("test-summary.html");
+        
+        Files.createDirectories(jsonDir);
+        Files.writeString(jsonDir.resolve("cucumber.json"), createSampleCucumberJson());
+        Files.writeString(metricsFile, "{\n" +
+               "  \"counters\": { \"http.retries\": 2 },\n" +
+               "  \"endpoints\": {\n" +
+               "    \"GET /products/{id}\": { \"count\": 3, \"mean\": 12.0, \"p50\": 11.0, \"p90\": 15.5, \"p95\": 16.0, \"p99\": 17.0, \"max\": 17.2 }\n" +
+               "  }\n" +
+               "}");
+        
+        TestSummaryReportGenerator.generateSummaryReport(
+            jsonDir.toString(),
+            tempDir.resolve("report").toString(),
+            metricsFile.toString(),
+            outputFile.toString()
+        );
+        
+        String content = Files.readString(outputFile);
+        assertTrue(content.contains("Endpoint Latency"), "Report should have an endpoint latency section");
+        assertTrue(content.contains("GET /products/{id}"), "Report should list the endpoint");
+        assertTrue(content.contains("15.5"), "Report should show the p90 latency");
+        assertTrue(content.contains("http.retries"), "Report should list run metrics");
     }
     
     /**
@@ -0,0 +1,181 @@
+package utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.dwp.model.AuthResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * JVM-wide cache of authentication tokens keyed by username.
+ * <p>
+ * Tokens are shared across scenarios and threads and are refreshed in the background before
+ * they expire, so logging in becomes a once-per-user cost. The expiry is read from the token's
+ * {@code exp} claim when it is a JWT, otherwise {@code api.token.ttl} is used. Failed logins are
+ * never cached.
+ */
+public class TokenCache {
+    private static final long EXPIRY_SKEW_MILLIS = 5000;
+    private static final double REFRESH_AT_LIFETIME_FRACTION = 0.8;
+
+    private static final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> bypassed = ThreadLocal.withInitial(() -> false);
+    private static final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-cache-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Gets a cached authentication response for the user, logging in when there is no valid token.
+     *
+     * @param username the username
+     * @param password the password
+     * @param login    the function performing the actual login request
+     * @return the cached or freshly obtained authentication response
+     */
+    public static AuthResponse getAuthResponse(String username, String password,
+                                               BiFunction<String, String, AuthResponse> login) {
+        if (!ConfigManager.isTokenCacheEnabled() || bypassed.get()) {
+            return login.apply(username, password);
+        }
+
+        CachedToken cached = tokens.computeIfAbsent(username, CachedToken::new);
+        synchronized (cached) {
+            if (cached.isValidFor(password)) {
+                return cached.authResponse;
+            }
+
+            AuthResponse authResponse = login.apply(username, password);
+            if (authResponse != null && authResponse.getToken() != null) {
+                cached.store(authResponse, password, login);
+            }
+            return authResponse;
+        }
+    }
+
+    /**
+     * Makes the current thread bypass the cache, for scenarios that test authentication itself.
+     *
+     * @param bypass true to always log in, false to use the cache again
+     */
+    public static void setBypassed(boolean bypass) {
+        if (bypass) {
+            bypassed.set(true);
+        } else {
+            bypassed.remove();
+        }
+    }
+
+    /**
+     * Removes the cached token of a user.
+     *
+     * @param username the username
+     */
+    public static void invalidate(String username) {
+        CachedToken cached = tokens.remove(username);
+        if (cached != null) {
+            synchronized (cached) {
+                cached.cancelRefresh();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached tokens.
+     */
+    public static void clear() {
+        tokens.keySet().forEach(TokenCache::invalidate);
+    }
+
+    /**
+     * Reads the expiry of a token, falling back to the configured ttl when it is not a JWT.
+     */
+    static long expiresAt(String token, long now) {
+        String[] parts = token.split("\\.");
+        if (parts.length == 3) {
+            try {
+                String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+                JsonObject claims = JsonParser.parseString(payload).getAsJsonObject();
+                JsonElement exp = claims.get("exp");
+                if (exp != null && !exp.isJsonNull()) {
+                    return exp.getAsLong() * 1000;
+                }
+            } catch (RuntimeException e) {
+                // Not a decodable JWT, use the configured ttl
+            }
+        }
+        return now + ConfigManager.getTokenTtl();
+    }
+
+    /**
+     * Cached token of a single user.
+     */
+    private static class CachedToken {
+        private final String username;
+        private AuthResponse authResponse;
+        private String password;
+        private long expiresAt;
+        private ScheduledFuture<?> refresh;
+
+        CachedToken(String username) {
+            this.username = username;
+        }
+
+        boolean isValidFor(String password) {
+            return authResponse != null
+                    && Objects.equals(this.password, password)
+                    && System.currentTimeMillis() < expiresAt - EXPIRY_SKEW_MILLIS;
+        }
+
+        void store(AuthResponse authResponse, String password, BiFunction<String, String, AuthResponse> login) {
+            long now = System.currentTimeMillis();
+            this.authResponse = authResponse;
+            this.password = password;
+            this.expiresAt = expiresAt(authResponse.getToken(), now);
+            scheduleRefresh(now, login);
+        }
+
+        void scheduleRefresh(long now, BiFunction<String, String, AuthResponse> login) {
+            cancelRefresh();
+            long delay = (long) ((expiresAt - now) * REFRESH_AT_LIFETIME_FRACTION);
+            if (delay > 0) {
+                refresh = refresher.schedule(() -> refresh(login), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void cancelRefresh() {
+            if (refresh != null) {
+                refresh.cancel(false);
+                refresh = null;
+            }
+        }
+
+        private void refresh(BiFunction<String, String, AuthResponse> login) {
+            synchronized (this) {
+                if (tokens.get(username) != this) {
+                    return;
+                }
+                try {
+                    AuthResponse refreshed = login.apply(username, password);
+                    if (refreshed != null && refreshed.getToken() != null) {
+                        store(refreshed, password, login);
+                    }
+                } catch (RuntimeException e) {
+                    // Leave the current token; the next caller logs in once it has expired
+                    System.err.println("Token refresh failed for " + username + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
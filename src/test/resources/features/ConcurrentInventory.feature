@@ -0,0 +1,24 @@
+@InventoryOperations @Concurrency
+Feature: Concurrent Inventory Operations API Tests
+  As an API user
+  I want stock levels to stay correct when many clients buy and sell at once
+  So that products are never oversold
+
+  Background:
+    Given the API base URL is set
+    And I am authenticated with username "user01" and password "secpassword*"
+
+  @Positive
+  Scenario: Concurrent purchases never oversell the product
+    Given there is an existing product in the inventory with "20" units in stock
+    When 50 clients concurrently buy 1 unit of the product
+    Then the final stock should equal the initial stock plus the net of the successful operations
+    And 20 concurrent purchases should succeed
+    And the rejected purchases should be insufficient stock errors
+
+  @Positive
+  Scenario: Concurrent purchases and sales keep the stock consistent
+    Given there is an existing product in the inventory with "10" units in stock
+    When clients concurrently buy and sell in a random mix
+    Then the final stock should equal the initial stock plus the net of the successful operations
+    And the rejected purchases should be insufficient stock errors